@@ -0,0 +1,72 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping and the DTO chain of the minimal read formats, for a full top-100
+ * list and an eleven-entry player window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private List<ScoreEntry> entries;
+    private List<ScoreEntryResponse> top100;
+    private List<ScoreEntryResponse> playerWindow;
+
+    @Setup
+    public void setUp() {
+        entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(ScoreEntry.builder()
+                    .id((long) i + 1)
+                    .playerAlias("player-" + i)
+                    .scoreValue(100_000 - i * 10)
+                    .submittedAt(BASE.plusSeconds(i))
+                    .metadata(i % 2 == 0 ? "level-" + i : null)
+                    .build());
+        }
+        top100 = mapEntities();
+        playerWindow = top100.subList(40, 51);
+    }
+
+    @Benchmark
+    public List<ScoreEntryResponse> mapEntities() {
+        List<ScoreEntryResponse> responses = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            responses.add(ScoreEntryResponse.fromEntity(entries.get(i), i + 1));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public TopScoresListResponse topScoresList() {
+        return TopScoresListResponse.fromScoreEntryResponses(top100);
+    }
+
+    @Benchmark
+    public CombinedLeaderboardWithoutMetadataResponse combinedWithoutMetadata() {
+        return CombinedLeaderboardWithoutMetadataResponse.create(top100, playerWindow);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.brainzy.rankdrop.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the minimal read formats with the same plain mapper the services use
+ * for pre-serialized bodies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TopScoresListResponse topScores;
+    private CombinedLeaderboardWithoutMetadataResponse combined;
+
+    @Setup
+    public void setUp() {
+        List<ScoreEntryResponse> scores = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            scores.add(new ScoreEntryResponse((long) i + 1, "player-" + i, 100_000 - i * 10.5, i + 1, null, null));
+        }
+        topScores = TopScoresListResponse.fromScoreEntryResponses(scores);
+        combined = CombinedLeaderboardWithoutMetadataResponse.create(scores, scores.subList(0, Math.min(size, 11)));
+    }
+
+    @Benchmark
+    public byte[] topScoresList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(topScores);
+    }
+
+    @Benchmark
+    public byte[] combinedWithoutMetadata() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(combined);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.brainzy.rankdrop.ranking;
+
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of the in-memory rank index on a populated board: the rank of a submission, the
+ * window around a player, the top slice and replacing a player's score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RankIndexBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Param({"10000", "1000000"})
+    int players;
+
+    private LeaderboardRankIndex index;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        List<RankedScore> scores = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            scores.add(score(i + 1L, random.nextInt(1_000_000)));
+        }
+        index = LeaderboardRankIndex.of(SortOrder.DESC, scores);
+    }
+
+    @Benchmark
+    public long countBetter() {
+        return index.countBetter(score(randomId(), random.nextInt(1_000_000)));
+    }
+
+    @Benchmark
+    public Optional<RankWindow> window() {
+        return index.window(randomId(), 5);
+    }
+
+    @Benchmark
+    public List<RankedScore> top100() {
+        return index.top(100);
+    }
+
+    @Benchmark
+    public void upsert() {
+        index.upsert(score(randomId(), random.nextInt(1_000_000)));
+    }
+
+    private long randomId() {
+        return random.nextInt(players) + 1L;
+    }
+
+    private static RankedScore score(long id, double value) {
+        return new RankedScore(id, "player-" + id, value, BASE.plusSeconds(id));
+    }
+}
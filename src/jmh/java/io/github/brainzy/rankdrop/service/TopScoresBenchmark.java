@@ -0,0 +1,88 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import io.github.brainzy.rankdrop.metrics.ScoreMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cached read path of {@code /top}: slicing the top-100 list, and merging a submission into
+ * it the way {@link ScoreCacheService#applySubmittedScore} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopScoresBenchmark {
+
+    private static final String SLUG = "benchmark";
+    private static final Comparator<ScoreEntryResponse> ORDER = ScoreCacheService.responseOrder(SortOrder.DESC);
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Param({"10", "50", "100"})
+    int limit;
+
+    private ScoreService scoreService;
+    private List<ScoreEntryResponse> top100;
+    private ScoreEntryResponse newEntry;
+    private ScoreEntryResponse movedEntry;
+
+    @Setup
+    public void setUp() {
+        top100 = new ArrayList<>();
+        for (int i = 0; i < ScoreCacheService.TOP_CAPACITY; i++) {
+            top100.add(new ScoreEntryResponse((long) i + 1, "player-" + i, 100_000 - i * 10, i + 1,
+                    BASE.plusSeconds(i), null));
+        }
+        top100 = List.copyOf(top100);
+        newEntry = new ScoreEntryResponse(10_000L, "newcomer", 100_000 - 505, 0, BASE, null);
+        movedEntry = new ScoreEntryResponse(90L, "player-89", 100_000 - 5, 0, BASE, null);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ScoreMetrics scoreMetrics = new ScoreMetrics(meterRegistry, Set.of());
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("topScores");
+        cacheManager.getCache("topScores").put(SLUG, new ScoreCacheService.TopSnapshot(top100, 1L, System.nanoTime()));
+        ScoreCacheService scoreCacheService = new ScoreCacheService(null, null, cacheManager, meterRegistry,
+                scoreMetrics, Duration.ZERO);
+        // Only the cache and the metrics are touched on the top list path
+        scoreService = new ScoreService(null, null, scoreCacheService, null, null, null, null, null, null,
+                scoreMetrics);
+    }
+
+    @Benchmark
+    public List<ScoreEntryResponse> getTopScores() {
+        return scoreService.getTopScores(SLUG, limit);
+    }
+
+    @Benchmark
+    public List<ScoreEntryResponse> mergeNewEntry() {
+        return ScoreCacheService.mergeIntoTop(top100, newEntry, ORDER, ScoreCacheService.TOP_CAPACITY);
+    }
+
+    @Benchmark
+    public List<ScoreEntryResponse> mergeMovedEntry() {
+        return ScoreCacheService.mergeIntoTop(top100, movedEntry, ORDER, ScoreCacheService.TOP_CAPACITY);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.brainzy.rankdrop.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation, printed as a fixed-width table.
+ */
+class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+
+    LatencyReport() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(LoadOperation operation, long nanos, boolean success) {
+        latencies.get(operation).recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%-10s %10s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long count = histogram.getTotalCount();
+            total += count;
+            if (count == 0) {
+                continue;
+            }
+            out.printf("%-10s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(), count, count / seconds, errors.get(operation).sum(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+        out.printf("%-10s %10d %10.1f%n", "total", total, total / seconds);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
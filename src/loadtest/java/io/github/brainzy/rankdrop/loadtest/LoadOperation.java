@@ -0,0 +1,11 @@
+package io.github.brainzy.rankdrop.loadtest;
+
+/**
+ * The client calls the load test drives, as a game would make them.
+ */
+enum LoadOperation {
+    SUBMIT,
+    TOP,
+    PLAYER,
+    COMBINED
+}
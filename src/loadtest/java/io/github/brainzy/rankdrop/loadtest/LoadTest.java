@@ -0,0 +1,211 @@
+package io.github.brainzy.rankdrop.loadtest;
+
+import io.github.brainzy.rankdrop.RankDropApplication;
+import io.github.brainzy.rankdrop.entity.ScoreStrategy;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import io.github.brainzy.rankdrop.service.RankIndexService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots RankDrop against an embedded PostgreSQL, seeds one board per score strategy and sort
+ * order, then drives a weighted mix of client calls from virtual threads and prints throughput
+ * and latency percentiles. Run with {@code ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="players=100000 duration=120s"}.
+ */
+public class LoadTest {
+
+    private static final String ADMIN_SECRET = "loadtest-admin-secret";
+    private static final String GAME_KEY = "loadtest-game-key-0001";
+    private static final int SURROUNDING = 5;
+
+    private final LoadTestOptions options;
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyReport report = new LatencyReport();
+    private final LoadOperation[] weightedOperations;
+    private String baseUrl;
+
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+        List<LoadOperation> weighted = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix has no weight");
+        }
+        this.weightedOperations = weighted.toArray(LoadOperation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    void run() throws Exception {
+        System.out.println("Load test: " + options);
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext app = startApplication(postgres)) {
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+
+            send(adminPost("/api/v1/admin/settings/game-key", "{\"newGameKey\":\"" + GAME_KEY + "\"}"));
+            List<Board> boards = seedBoards(postgres.getPostgresDatabase());
+            // Boards registered an empty rank index when created, and the seeded rows bypassed it
+            app.getBean(RankIndexService.class).loadAll();
+
+            long started = System.nanoTime();
+            long measureFrom = started + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < options.concurrency(); i++) {
+                    workers.execute(() -> work(boards, measureFrom, end));
+                }
+            }
+
+            System.out.println();
+            report.print(System.out, options.duration());
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres) {
+        // Command line arguments, so they win over application.properties
+        return SpringApplication.run(RankDropApplication.class,
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.datasource.hikari.maximum-pool-size=" + options.poolSize(),
+                "--spring.threads.virtual.enabled=" + options.serverVirtualThreads(),
+                "--rankdrop.rank-index.enabled=" + options.rankIndex(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.io.github.brainzy.rankdrop=WARN",
+                "--server.port=0",
+                "--ADMIN_SECRET=" + ADMIN_SECRET);
+    }
+
+    private List<Board> seedBoards(DataSource dataSource) throws IOException, InterruptedException, SQLException {
+        List<Board> boards = new ArrayList<>();
+        for (ScoreStrategy strategy : ScoreStrategy.values()) {
+            for (SortOrder sortOrder : SortOrder.values()) {
+                String slug = ("load-" + strategy + "-" + sortOrder).toLowerCase().replace('_', '-');
+                send(adminPost("/api/v1/admin/leaderboards",
+                        "{\"slug\":\"" + slug + "\",\"displayName\":\"" + slug + "\",\"sortOrder\":\"" + sortOrder
+                                + "\",\"scoreStrategy\":\"" + strategy + "\",\"minScore\":0,\"maxScore\":1000000}"));
+                long seedStart = System.nanoTime();
+                seedScores(dataSource, slug, strategy);
+                System.out.printf("Seeded %d players into '%s' in %d ms%n", options.playersPerBoard(), slug,
+                        (System.nanoTime() - seedStart) / 1_000_000);
+                boards.add(new Board(slug));
+            }
+        }
+        return boards;
+    }
+
+    // Seeded straight into the table: going through the API would make seeding a load test of its own
+    private void seedScores(DataSource dataSource, String slug, ScoreStrategy strategy) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO score_entries (leaderboard_id, generation, player_alias, score_value, submitted_at, player_unique) " +
+                             "SELECT l.id, l.current_generation, 'p' || g, floor(random() * 1000000), " +
+                             "now() - g * INTERVAL '1 millisecond', ? FROM leaderboards l, generate_series(1, ?) g WHERE l.slug = ?")) {
+            insert.setBoolean(1, strategy != ScoreStrategy.MULTIPLE_ENTRIES);
+            insert.setInt(2, options.playersPerBoard());
+            insert.setString(3, slug);
+            insert.executeUpdate();
+        }
+        // Fresh statistics so the planner picks the indexes from the first request
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement analyze = connection.prepareStatement("ANALYZE score_entries")) {
+            analyze.execute();
+        }
+    }
+
+    private void work(List<Board> boards, long measureFrom, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            LoadOperation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            Board board = boards.get(random.nextInt(boards.size()));
+            HttpRequest request = request(operation, board, random);
+
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= measureFrom) {
+                report.record(operation, System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private HttpRequest request(LoadOperation operation, Board board, ThreadLocalRandom random) {
+        String boardPath = "/api/v1/leaderboards/" + board.slug();
+        // A tenth of submissions come from players the board has not seen yet
+        String player = "p" + (random.nextInt(options.playersPerBoard() + options.playersPerBoard() / 10) + 1);
+        return switch (operation) {
+            case SUBMIT -> HttpRequest.newBuilder(URI.create(baseUrl + boardPath + "/scores"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Game-Key", GAME_KEY)
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"playerAlias\":\"" + player + "\",\"scoreValue\":" + random.nextInt(1_000_000) + "}"))
+                    .build();
+            case TOP -> get(boardPath + "/top?limit=10");
+            case PLAYER -> get(boardPath + "/players/" + seededPlayer(random) + "?surrounding=" + SURROUNDING);
+            case COMBINED -> get(boardPath + "/combined?topLimit=10&surrounding=" + SURROUNDING
+                    + "&playerAlias=" + URLEncoder.encode(seededPlayer(random), StandardCharsets.UTF_8));
+        };
+    }
+
+    private String seededPlayer(ThreadLocalRandom random) {
+        return "p" + (random.nextInt(options.playersPerBoard()) + 1);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest adminPost(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("X-Admin-Token", ADMIN_SECRET)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private void send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private record Board(String slug) {
+    }
+}
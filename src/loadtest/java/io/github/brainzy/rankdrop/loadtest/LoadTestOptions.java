@@ -0,0 +1,75 @@
+package io.github.brainzy.rankdrop.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test settings, given as {@code key=value} arguments. Unknown keys are rejected so a typo
+ * never silently runs the defaults.
+ */
+record LoadTestOptions(
+        int playersPerBoard,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<LoadOperation, Integer> mix,
+        boolean serverVirtualThreads,
+        boolean rankIndex,
+        int poolSize
+) {
+    static final String USAGE = """
+            Options (key=value):
+              players=10000            players seeded per board
+              concurrency=64           client workers, each a virtual thread running requests back to back
+              warmup=10s               load before measuring
+              duration=60s             measured load
+              mix=submit:40,top:40,player:10,combined:10
+              virtualThreads=false     serve requests on virtual threads (spring.threads.virtual.enabled)
+              rankIndex=false          enable the in-memory rank index
+              poolSize=10              Hikari maximum pool size
+            """;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'\n" + USAGE);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("players", "10000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                parseDuration(values.getOrDefault("warmup", "10s")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", "submit:40,top:40,player:10,combined:10")),
+                Boolean.parseBoolean(values.getOrDefault("virtualThreads", "false")),
+                Boolean.parseBoolean(values.getOrDefault("rankIndex", "false")),
+                Integer.parseInt(values.getOrDefault("poolSize", "10")));
+
+        values.keySet().removeAll(Set.of("players", "concurrency", "warmup", "duration", "mix",
+                "virtualThreads", "rankIndex", "poolSize"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet() + "\n" + USAGE);
+        }
+        return options;
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String value) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(LoadOperation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
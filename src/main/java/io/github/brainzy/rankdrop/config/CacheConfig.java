@@ -1,17 +1,38 @@
 package io.github.brainzy.rankdrop.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.github.brainzy.rankdrop.service.ScoreCacheService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Weighs each cached leaderboard by its number of entries, so the bound tracks memory rather than board count
+    private static final Weigher<Object, Object> ENTRY_COUNT_WEIGHER =
+            (key, value) -> value instanceof ScoreCacheService.TopSnapshot top ? Math.max(1, top.scores().size()) : 1;
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("topScores");
+    public CacheManager cacheManager(
+            @Value("${rankdrop.cache.top-scores.max-entries:50000}") long maxEntries,
+            @Value("${rankdrop.cache.top-scores.expire-after-access:7d}") Duration expireAfterAccess) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher(ENTRY_COUNT_WEIGHER)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of("topScores"));
+        return cacheManager;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package io.github.brainzy.rankdrop.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+@Configuration
+@ImportRuntimeHints(DatabaseAdmissionConfig.ConnectionProxyHints.class)
+@Slf4j
+public class DatabaseAdmissionConfig {
+
+    // Static so it is registered before the DataSource is created; settings are read at runtime to keep native images configurable
+    @Bean
+    public static BeanPostProcessor admissionLimitingDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("rankdrop.db.admission.enabled", Boolean.class, false);
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrent = environment.getProperty("rankdrop.db.admission.max-concurrent", Integer.class, poolSize);
+        Duration maxWait = environment.getProperty("rankdrop.db.admission.max-wait", Duration.class, Duration.ofMillis(500));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof AdmissionLimitingDataSource) {
+                    return bean;
+                }
+                log.info("Limiting '{}' to {} concurrent connections, waiting at most {} ms", beanName, maxConcurrent, maxWait.toMillis());
+                return new AdmissionLimitingDataSource(dataSource, maxConcurrent, maxWait);
+            }
+        };
+    }
+
+    static class ConnectionProxyHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.proxies().registerJdkProxy(Connection.class);
+        }
+    }
+}
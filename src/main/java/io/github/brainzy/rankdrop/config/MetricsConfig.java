@@ -0,0 +1,31 @@
+package io.github.brainzy.rankdrop.config;
+
+import io.github.brainzy.rankdrop.metrics.StatementCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ImportRuntimeHints(DatabaseAdmissionConfig.ConnectionProxyHints.class)
+public class MetricsConfig {
+
+    // Static for the same reason as the admission limiter: it must exist before the DataSource does
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("rankdrop.metrics.statement-counts.enabled", Boolean.class, true);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof StatementCountingDataSource) {
+                    return bean;
+                }
+                return new StatementCountingDataSource(dataSource);
+            }
+        };
+    }
+}
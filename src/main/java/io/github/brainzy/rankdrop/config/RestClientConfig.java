@@ -1,14 +1,24 @@
 package io.github.brainzy.rankdrop.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestClientConfig {
-    
+
+    // A webhook endpoint that never answers must not hold a dispatcher worker forever
     @Bean
-    public RestClient restClient() {
-        return RestClient.create();
+    public RestClient restClient(@Value("${rankdrop.webhook.connect-timeout:2s}") Duration connectTimeout,
+                                 @Value("${rankdrop.webhook.read-timeout:5s}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(connectTimeout).build());
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder().requestFactory(requestFactory).build();
     }
 }
@@ -1,5 +1,6 @@
 package io.github.brainzy.rankdrop.config;
 
+import io.github.brainzy.rankdrop.metrics.StatementCountInterceptor;
 import io.github.brainzy.rankdrop.security.ApiKeyInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -9,14 +10,18 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final ApiKeyInterceptor apiKeyInterceptor;
+    private final StatementCountInterceptor statementCountInterceptor;
 
-    public WebConfig(ApiKeyInterceptor apiKeyInterceptor) {
+    public WebConfig(ApiKeyInterceptor apiKeyInterceptor, StatementCountInterceptor statementCountInterceptor) {
         this.apiKeyInterceptor = apiKeyInterceptor;
+        this.statementCountInterceptor = statementCountInterceptor;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(apiKeyInterceptor)
                 .addPathPatterns("/api/v1/**");
+        registry.addInterceptor(statementCountInterceptor)
+                .addPathPatterns("/api/v1/**");
     }
 }
\ No newline at end of file
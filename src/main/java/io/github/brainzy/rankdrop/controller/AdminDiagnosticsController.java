@@ -0,0 +1,95 @@
+package io.github.brainzy.rankdrop.controller;
+
+import io.github.brainzy.rankdrop.diagnostics.FlightRecordingService;
+import io.github.brainzy.rankdrop.dto.FlightRecordingStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Admin — Diagnostics", description = "Flight Recorder profiling of a running instance")
+public class AdminDiagnosticsController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    public AdminDiagnosticsController(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    @PostMapping("/diagnostics/recording/start")
+    @Operation(summary = "Start a flight recording", description = "Starts a JDK Flight Recorder recording with the profile settings plus the RankDrop submit and top list stage events. The recording stops on its own after the given duration, capped by rankdrop.diagnostics.jfr.max-duration, and never grows past rankdrop.diagnostics.jfr.max-size.")
+    @ApiResponse(responseCode = "200", description = "Recording started")
+    @ApiResponse(responseCode = "409", description = "A recording is already running or Flight Recorder is unavailable", content = @Content(schema = @Schema(example = "{\"error\": \"Failed to start recording\", \"message\": \"A recording is already running\"}")))
+    public ResponseEntity<?> startRecording(
+            @Parameter(description = "Seconds to record before stopping automatically", example = "120")
+            @RequestParam(defaultValue = "120") long durationSeconds) {
+        try {
+            return ResponseEntity.ok(flightRecordingService.start(Duration.ofSeconds(durationSeconds)));
+        } catch (IllegalStateException e) {
+            return conflict("Failed to start recording", e);
+        }
+    }
+
+    @PostMapping("/diagnostics/recording/stop")
+    @Operation(summary = "Stop the flight recording", description = "Stops the running recording early. Its data stays available for download until the next recording starts.")
+    @ApiResponse(responseCode = "200", description = "Recording stopped")
+    @ApiResponse(responseCode = "409", description = "No recording is running", content = @Content(schema = @Schema(example = "{\"error\": \"Failed to stop recording\", \"message\": \"No recording is running\"}")))
+    public ResponseEntity<?> stopRecording() {
+        try {
+            return ResponseEntity.ok(flightRecordingService.stop());
+        } catch (IllegalStateException e) {
+            return conflict("Failed to stop recording", e);
+        }
+    }
+
+    @GetMapping("/diagnostics/recording")
+    @Operation(summary = "Get flight recording status", description = "Returns the state, timing and size of the current or last recording.")
+    @ApiResponse(responseCode = "200", description = "Status retrieved successfully")
+    public ResponseEntity<FlightRecordingStatus> getRecordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+
+    @GetMapping("/diagnostics/recording/download")
+    @Operation(summary = "Download the flight recording", description = "Streams the last stopped recording as a .jfr file, to open in JDK Mission Control or `jfr print`.")
+    @ApiResponse(responseCode = "200", description = "Recording streamed successfully")
+    @ApiResponse(responseCode = "409", description = "No stopped recording", content = @Content(schema = @Schema(example = "{\"error\": \"Failed to download recording\", \"message\": \"No stopped recording to download\"}")))
+    public ResponseEntity<?> downloadRecording() throws IOException {
+        InputStream data;
+        try {
+            data = flightRecordingService.openStoppedRecording();
+        } catch (IllegalStateException e) {
+            return conflict("Failed to download recording", e);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (data) {
+                data.transferTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("rankdrop.jfr").build().toString())
+                .body(body);
+    }
+
+    private static ResponseEntity<Map<String, String>> conflict(String error, IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", error, "message", e.getMessage()));
+    }
+}
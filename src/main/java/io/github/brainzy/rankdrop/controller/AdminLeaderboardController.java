@@ -3,9 +3,13 @@ package io.github.brainzy.rankdrop.controller;
 import io.github.brainzy.rankdrop.dto.LeaderboardCreateRequest;
 import io.github.brainzy.rankdrop.dto.LeaderboardResetRequest;
 import io.github.brainzy.rankdrop.dto.LeaderboardUpdateRequest;
+import io.github.brainzy.rankdrop.dto.ScoreCursorPageResponse;
 import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
 import io.github.brainzy.rankdrop.entity.Leaderboard;
+import io.github.brainzy.rankdrop.service.ExportFormat;
+import io.github.brainzy.rankdrop.service.LeaderboardConfigCache;
 import io.github.brainzy.rankdrop.service.LeaderboardService;
+import io.github.brainzy.rankdrop.service.ScoreExportService;
 import io.github.brainzy.rankdrop.service.ScoreService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +18,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -27,10 +35,15 @@ public class AdminLeaderboardController {
 
     private final LeaderboardService leaderboardService;
     private final ScoreService scoreService;
+    private final ScoreExportService scoreExportService;
+    private final LeaderboardConfigCache leaderboardConfigCache;
 
-    public AdminLeaderboardController(LeaderboardService leaderboardService, ScoreService scoreService) {
+    public AdminLeaderboardController(LeaderboardService leaderboardService, ScoreService scoreService,
+                                      ScoreExportService scoreExportService, LeaderboardConfigCache leaderboardConfigCache) {
         this.leaderboardService = leaderboardService;
         this.scoreService = scoreService;
+        this.scoreExportService = scoreExportService;
+        this.leaderboardConfigCache = leaderboardConfigCache;
     }
 
     @PostMapping("/leaderboards")
@@ -114,4 +127,44 @@ public class AdminLeaderboardController {
             @RequestParam(defaultValue = "500") int size) {
         return ResponseEntity.ok(scoreService.getAllScoresForLeaderboard(slug, page, size));
     }
+
+    @GetMapping("/leaderboards/{slug}/scores/cursor")
+    @Operation(summary = "Export scores by cursor", description = "Returns score entries after the given cursor with their ranks. Pass the returned nextCursor to fetch the following page; it is null on the last page. Maximum 1000 per page.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved scores")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "404", description = "Leaderboard not found", content = @Content(schema = @Schema(hidden = true)))
+    public ResponseEntity<ScoreCursorPageResponse> getScoresByCursor(
+            @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
+            @PathVariable String slug,
+            @Parameter(description = "Cursor returned by the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, max 1000", example = "500")
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(scoreService.getScoresAfterCursor(slug, cursor, size));
+    }
+
+    @GetMapping("/leaderboards/{slug}/export")
+    @Operation(summary = "Export all scores", description = "Streams every score of a leaderboard in rank order as NDJSON or CSV, optionally gzipped. Rows are written as they are read, so board size does not affect server memory.")
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    @ApiResponse(responseCode = "404", description = "Leaderboard not found", content = @Content(schema = @Schema(hidden = true)))
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
+            @PathVariable String slug,
+            @Parameter(description = "Output format. Options: NDJSON, CSV", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Gzip the file", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        leaderboardConfigCache.get(slug); // Fail with 404 before the response is committed
+
+        String filename = slug + (format == ExportFormat.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == ExportFormat.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody body = out -> scoreExportService.export(slug, format, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
@@ -3,7 +3,9 @@ package io.github.brainzy.rankdrop.controller;
 import io.github.brainzy.rankdrop.dto.BackupConfigRequest;
 import io.github.brainzy.rankdrop.dto.RotateKeyRequest;
 import io.github.brainzy.rankdrop.dto.WebhookConfigRequest;
+import io.github.brainzy.rankdrop.security.GameKeyStore;
 import io.github.brainzy.rankdrop.service.SystemSettingService;
+import io.github.brainzy.rankdrop.service.WebhookSettingsStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -22,9 +24,14 @@ import java.util.Map;
 public class AdminSettingsController {
 
     private final SystemSettingService systemSettingService;
+    private final GameKeyStore gameKeyStore;
+    private final WebhookSettingsStore webhookSettingsStore;
 
-    public AdminSettingsController(SystemSettingService systemSettingService) {
+    public AdminSettingsController(SystemSettingService systemSettingService, GameKeyStore gameKeyStore,
+                                   WebhookSettingsStore webhookSettingsStore) {
         this.systemSettingService = systemSettingService;
+        this.gameKeyStore = gameKeyStore;
+        this.webhookSettingsStore = webhookSettingsStore;
     }
 
     @PostMapping("/settings/game-key")
@@ -44,6 +51,7 @@ public class AdminSettingsController {
 
         try {
             systemSettingService.setSetting("GAME_SECRET", newGameKey);
+            gameKeyStore.update(newGameKey);
             return ResponseEntity.ok(Map.of("message", "Game key rotated successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -95,18 +103,27 @@ public class AdminSettingsController {
     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(example = "{\"error\": \"Failed to configure webhook\", \"message\": \"Database connection failed\"}")))
     public ResponseEntity<Map<String, String>> configureWebhook(@RequestBody WebhookConfigRequest request) {
         try {
+            String url = null;
+            Integer topN = null;
+            Long cooldownMs = null;
+
             if (request.webhookUrl() != null && !request.webhookUrl().isBlank()) {
                 systemSettingService.setSetting("WEBHOOK_URL", request.webhookUrl());
+                url = request.webhookUrl();
             }
 
             if (request.topN() != null && request.topN() > 0) {
                 systemSettingService.setSetting("WEBHOOK_TOP_N", request.topN().toString());
+                topN = request.topN();
             }
 
             if (request.cooldownMs() != null && request.cooldownMs() > 0) {
                 systemSettingService.setSetting("WEBHOOK_COOLDOWN_MS", request.cooldownMs().toString());
+                cooldownMs = request.cooldownMs();
             }
 
+            webhookSettingsStore.update(url, topN, cooldownMs);
+
             return ResponseEntity.ok(Map.of("message", "Webhook configured successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
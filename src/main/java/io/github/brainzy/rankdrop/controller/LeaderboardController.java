@@ -1,7 +1,11 @@
 package io.github.brainzy.rankdrop.controller;
 
 import io.github.brainzy.rankdrop.dto.*;
+import io.github.brainzy.rankdrop.service.CombinedScoreService;
+import io.github.brainzy.rankdrop.service.LeaderboardVersions;
 import io.github.brainzy.rankdrop.service.ScoreService;
+import io.github.brainzy.rankdrop.service.TopScoresResponseCache;
+import io.github.brainzy.rankdrop.service.TopScoresStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,8 +14,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,6 +32,10 @@ import java.util.List;
 public class LeaderboardController {
 
     private final ScoreService scoreService;
+    private final CombinedScoreService combinedScoreService;
+    private final TopScoresResponseCache topScoresResponseCache;
+    private final LeaderboardVersions leaderboardVersions;
+    private final TopScoresStreamService topScoresStreamService;
 
     @GetMapping("/{slug}/top")
     @Operation(
@@ -30,8 +43,9 @@ public class LeaderboardController {
             description = "Fetch the leaderboard rankings sorted according to the leaderboard configuration."
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved top scores", content = @Content(schema = @Schema(implementation = TopScoresListResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true)))
     @ApiResponse(responseCode = "404", description = "Leaderboard not found", content = @Content(schema = @Schema(hidden = true)))
-    public TopScoresListResponse getTopScores(
+    public ResponseEntity<byte[]> getTopScores(
             @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
             @PathVariable String slug,
 
@@ -40,10 +54,58 @@ public class LeaderboardController {
                     example = "10",
                     schema = @Schema(defaultValue = "10")
             )
+            @RequestParam(defaultValue = "10") int limit,
+
+            @Parameter(description = "Include metadata in response", required = false)
+            @RequestParam(value = "includeMetadata", defaultValue = "false") Boolean includeMetadata,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        boolean gzip = TopScoresResponseCache.acceptsGzip(acceptEncoding);
+        String etag = leaderboardVersions.etag(slug, gzip ? "gzip" : "json");
+        if (LeaderboardVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        // Bodies come pre-serialized and pre-compressed from the response cache, so they bypass Jackson and servlet gzip
+        TopScoresResponseCache.EncodedResponse body = topScoresResponseCache.getTop(
+                slug, limit, includeMetadata != null && includeMetadata);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.cached()) {
+            response.eTag(etag);
+        }
+        if (body.gzip() != null && gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    @GetMapping(value = "/{slug}/top/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream top score changes",
+            description = "Server-Sent Events stream of the top N. The first `snapshot` event carries the current list, each later `diff` event lists the entries that entered, moved or left. Slow consumers are disconnected and should reconnect."
+    )
+    @ApiResponse(responseCode = "200", description = "Stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = TopScoresDiffEvent.class)))
+    @ApiResponse(responseCode = "404", description = "Leaderboard not found", content = @Content(schema = @Schema(hidden = true)))
+    public SseEmitter streamTopScores(
+            @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
+            @PathVariable String slug,
+
+            @Parameter(
+                    description = "Number of top scores to follow",
+                    example = "10",
+                    schema = @Schema(defaultValue = "10")
+            )
             @RequestParam(defaultValue = "10") int limit
     ) {
-        List<ScoreEntryResponse> scores = scoreService.getTopScores(slug, limit);
-        return TopScoresListResponse.fromScoreEntryResponses(scores);
+        return topScoresStreamService.subscribe(slug, limit);
     }
 
     @PostMapping("/{slug}/scores")
@@ -61,15 +123,31 @@ public class LeaderboardController {
         return scoreService.submitScore(slug, request.playerAlias(), request.scoreValue(), request.metadata());
     }
 
+    @PostMapping("/{slug}/scores:batch")
+    @Operation(
+            summary = "Submit several scores",
+            description = "Submit up to " + ScoreBatchSubmissionRequest.MAX_SCORES + " scores in one transaction. Banned players and scores outside the min/max constraints are rejected per entry without failing the rest."
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed, see each result", content = @Content(schema = @Schema(implementation = ScoreBatchSubmitResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Leaderboard not found", content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(schema = @Schema(hidden = true)))
+    public ScoreBatchSubmitResponse submitScores(
+            @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
+            @PathVariable String slug,
+            @Valid @RequestBody ScoreBatchSubmissionRequest request) {
+        return scoreService.submitScores(slug, request.scores());
+    }
+
     @GetMapping("/{slug}/players/{playerAlias}")
     @Operation(
             summary = "Get player rank and surrounding scores",
             description = "Fetch a specific player's score and rank, optionally including surrounding players. Returns minimal data format with start rank and scores array."
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved player score", content = @Content(schema = @Schema(implementation = PlayerScoreResponse.class, example = "{\"startRank\": 1, \"scores\": [{\"n\": \"Player1\", \"s\": 9500}, {\"n\": \"Player2\", \"s\": 8200}]}")))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true)))
     @ApiResponse(responseCode = "404", description = "Leaderboard or player not found", content = @Content(schema = @Schema(hidden = true)))
     @Schema(description = "Get player score with surrounding scores", implementation = PlayerScoreResponse.class)
-    public Object getPlayerScore(
+    public ResponseEntity<?> getPlayerScore(
             @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
             @PathVariable String slug,
 
@@ -84,16 +162,24 @@ public class LeaderboardController {
             @RequestParam(defaultValue = "0") int surrounding,
 
             @Parameter(description = "Include metadata in response", required = false)
-            @RequestParam(value = "includeMetadata", defaultValue = "false") Boolean includeMetadata
+            @RequestParam(value = "includeMetadata", defaultValue = "false") Boolean includeMetadata,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
+        String etag = leaderboardVersions.etag(slug, "json");
+        if (LeaderboardVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
         List<ScoreEntryResponse> scores = scoreService.getPlayerScoreWithSurrounding(slug, playerAlias, surrounding);
         
         boolean includeMeta = includeMetadata != null && includeMetadata;
         
         if (includeMeta) {
-            return PlayerScoreResponse.fromScoreEntryResponses(scores, true);
+            return ResponseEntity.ok().eTag(etag).body(PlayerScoreResponse.fromScoreEntryResponses(scores, true));
         } else {
-            return PlayerScoreWithoutMetadataResponse.fromScoreEntryResponses(scores);
+            return ResponseEntity.ok().eTag(etag).body(PlayerScoreWithoutMetadataResponse.fromScoreEntryResponses(scores));
         }
     }
 
@@ -103,8 +189,9 @@ public class LeaderboardController {
             description = "Combined endpoint that returns both top scores and a specific player's score with surrounding ranks."
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved combined leaderboard data", content = @Content(schema = @Schema(implementation = CombinedLeaderboardResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true)))
     @ApiResponse(responseCode = "404", description = "Leaderboard or player not found", content = @Content(schema = @Schema(hidden = true)))
-    public Object getTopAndPlayer(
+    public ResponseEntity<?> getTopAndPlayer(
             @Parameter(description = "The unique slug of the leaderboard", example = "global-high-scores")
             @PathVariable String slug,
 
@@ -126,17 +213,28 @@ public class LeaderboardController {
             @RequestParam(defaultValue = "0") int surrounding,
 
             @Parameter(description = "Include metadata for top scores", required = false)
-            @RequestParam(value = "includeMetadata", defaultValue = "false") Boolean includeMetadata
+            @RequestParam(value = "includeMetadata", defaultValue = "false") Boolean includeMetadata,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        List<ScoreEntryResponse> topScores = scoreService.getTopScores(slug, topLimit);
-        List<ScoreEntryResponse> playerScores = scoreService.getPlayerScoreWithSurrounding(slug, playerAlias, surrounding);
+        String etag = leaderboardVersions.etag(slug, "json");
+        if (LeaderboardVersions.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        CombinedScoreService.TopAndPlayerScores scores = combinedScoreService.getTopAndPlayer(slug, topLimit, playerAlias, surrounding);
         
         boolean includeMeta = includeMetadata != null && includeMetadata;
         
         if (includeMeta) {
-            return CombinedLeaderboardResponse.create(topScores, playerScores);
+            return ResponseEntity.ok().eTag(etag).body(CombinedLeaderboardResponse.create(scores.topScores(), scores.playerScores()));
         } else {
-            return CombinedLeaderboardWithoutMetadataResponse.create(topScores, playerScores);
+            return ResponseEntity.ok().eTag(etag).body(CombinedLeaderboardWithoutMetadataResponse.create(scores.topScores(), scores.playerScores()));
         }
     }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 }
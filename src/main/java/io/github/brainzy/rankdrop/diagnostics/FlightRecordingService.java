@@ -0,0 +1,115 @@
+package io.github.brainzy.rankdrop.diagnostics;
+
+import io.github.brainzy.rankdrop.dto.FlightRecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Runs at most one Flight Recorder recording at a time, bounded in both duration and size, so it
+ * can be left running on a production instance without filling the disk. A stopped recording
+ * stays available for download until the next one starts.
+ */
+@Service
+@Slf4j
+public class FlightRecordingService {
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${rankdrop.diagnostics.jfr.max-duration:10m}") Duration maxDuration,
+                                  @Value("${rankdrop.diagnostics.jfr.max-size:100MB}") DataSize maxSize) {
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSize.toBytes();
+    }
+
+    public synchronized FlightRecordingStatus start(Duration duration) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this runtime");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeRecording();
+
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0
+                ? maxDuration
+                : duration;
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration("profile"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load the profile recording settings", e);
+        }
+        started.setName("rankdrop-diagnostics");
+        started.setToDisk(true);
+        started.setDuration(bounded);
+        started.setMaxSize(maxSizeBytes);
+        started.enable(SubmitStageEvent.class);
+        started.enable(TopScoresStageEvent.class);
+        started.start();
+        recording = started;
+        log.info("Started flight recording for at most {} s and {} bytes", bounded.toSeconds(), maxSizeBytes);
+        return status();
+    }
+
+    public synchronized FlightRecordingStatus stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Stopped flight recording after {} bytes", recording.getSize());
+        return status();
+    }
+
+    public synchronized FlightRecordingStatus status() {
+        if (recording == null) {
+            return FlightRecordingStatus.none();
+        }
+        Duration duration = recording.getDuration();
+        return new FlightRecordingStatus(
+                recording.getState() == RecordingState.RUNNING ? "RUNNING" : "STOPPED",
+                recording.getStartTime(),
+                recording.getState() == RecordingState.RUNNING ? null : recording.getStopTime(),
+                duration == null ? 0 : duration.toSeconds(),
+                recording.getSize());
+    }
+
+    /**
+     * Opens the data of the last stopped recording. The caller closes the stream.
+     */
+    public synchronized InputStream openStoppedRecording() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.STOPPED) {
+            throw new IllegalStateException("No stopped recording to download");
+        }
+        InputStream data = recording.getStream(null, null);
+        if (data == null) {
+            throw new IllegalStateException("The recording holds no data");
+        }
+        return data;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
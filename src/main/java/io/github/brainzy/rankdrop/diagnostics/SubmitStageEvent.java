@@ -0,0 +1,73 @@
+package io.github.brainzy.rankdrop.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of a score submission. Stages of the same submission share the thread, so a
+ * recording shows where a slow submit spent its time.
+ */
+@Name("rankdrop.SubmitStage")
+@Label("Score Submit Stage")
+@Category({"RankDrop", "Scores"})
+@Description("A single stage of ScoreService.submitScore")
+@StackTrace(false)
+public class SubmitStageEvent extends Event {
+
+    public static final String CONFIG = "config";
+    public static final String BAN_CHECK = "ban-check";
+    public static final String WRITE = "write";
+    public static final String RANK = "rank";
+    public static final String CACHE = "cache";
+    public static final String WEBHOOK = "webhook";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Leaderboard")
+    String slug;
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Rows Affected")
+    int rowsAffected;
+
+    @Label("Rank")
+    long rank;
+
+    public static SubmitStageEvent begin(String stage, String slug, String strategy) {
+        SubmitStageEvent event = new SubmitStageEvent();
+        event.stage = stage;
+        event.slug = slug;
+        event.strategy = strategy;
+        event.begin();
+        return event;
+    }
+
+    public void end() {
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+
+    // For the config stage, which learns the strategy from the config it loads
+    public void end(String strategy) {
+        if (shouldCommit()) {
+            this.strategy = strategy;
+            commit();
+        }
+    }
+
+        public void end(int rowsAffected, long rank) {
+        if (shouldCommit()) {
+            this.rowsAffected = rowsAffected;
+            this.rank = rank;
+            commit();
+        }
+    }
+}
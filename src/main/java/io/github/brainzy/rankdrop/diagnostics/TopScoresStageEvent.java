@@ -0,0 +1,52 @@
+package io.github.brainzy.rankdrop.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of serving a top list: the cache lookup, waiting on another caller's load, or
+ * loading from the database.
+ */
+@Name("rankdrop.TopScoresStage")
+@Label("Top Scores Stage")
+@Category({"RankDrop", "Scores"})
+@Description("A single stage of ScoreCacheService.getTop100")
+@StackTrace(false)
+public class TopScoresStageEvent extends Event {
+
+    public static final String LOOKUP = "lookup";
+    public static final String COALESCED_WAIT = "coalesced-wait";
+    public static final String LOAD = "load";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Leaderboard")
+    String slug;
+
+    @Label("Cache Hit")
+    boolean hit;
+
+    @Label("Rows")
+    int rows;
+
+    public static TopScoresStageEvent begin(String stage, String slug) {
+        TopScoresStageEvent event = new TopScoresStageEvent();
+        event.stage = stage;
+        event.slug = slug;
+        event.begin();
+        return event;
+    }
+
+    public void end(boolean hit, int rows) {
+        if (shouldCommit()) {
+            this.hit = hit;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
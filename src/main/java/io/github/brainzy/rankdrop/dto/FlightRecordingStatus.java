@@ -0,0 +1,27 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "State of the diagnostic flight recording")
+public record FlightRecordingStatus(
+        @Schema(description = "Recording state. Options: NONE, RUNNING, STOPPED", example = "RUNNING")
+        String state,
+
+        @Schema(description = "When the recording started", example = "2026-01-01T12:00:00Z")
+        Instant startedAt,
+
+        @Schema(description = "When the recording stopped, null while running", example = "2026-01-01T12:05:00Z")
+        Instant stoppedAt,
+
+        @Schema(description = "Seconds after which the recording stops on its own", example = "300")
+        long durationSeconds,
+
+        @Schema(description = "Bytes recorded so far", example = "1048576")
+        long sizeBytes
+) {
+    public static FlightRecordingStatus none() {
+        return new FlightRecordingStatus("NONE", null, null, 0, 0);
+    }
+}
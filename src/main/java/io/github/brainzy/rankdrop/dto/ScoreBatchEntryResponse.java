@@ -0,0 +1,29 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of one score in a batch submission", example = "{\"playerAlias\": \"PlayerOne\", \"accepted\": true, \"rank\": 13, \"score\": 1550.5, \"error\": null}")
+public record ScoreBatchEntryResponse(
+        @Schema(description = "The player alias of the submitted score", example = "PlayerOne")
+        String playerAlias,
+
+        @Schema(description = "False when the score was rejected and not stored", example = "true")
+        boolean accepted,
+
+        @Schema(description = "The rank of the player's stored score, null when rejected", example = "13")
+        Long rank,
+
+        @Schema(description = "The player's stored score value, null when rejected", example = "1550.5")
+        Double score,
+
+        @Schema(description = "Why the score was rejected, null when accepted", example = "Player is banned")
+        String error
+) {
+    public static ScoreBatchEntryResponse accepted(String playerAlias, long rank, double score) {
+        return new ScoreBatchEntryResponse(playerAlias, true, rank, score, null);
+    }
+
+    public static ScoreBatchEntryResponse rejected(String playerAlias, String error) {
+        return new ScoreBatchEntryResponse(playerAlias, false, null, null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request object for submitting many scores at once, e.g. every player of a finished match")
+public record ScoreBatchSubmissionRequest(
+        @ArraySchema(schema = @Schema(implementation = ScoreSubmissionRequest.class), minItems = 1, maxItems = ScoreBatchSubmissionRequest.MAX_SCORES)
+        @NotEmpty(message = "At least one score is required")
+        @Size(max = ScoreBatchSubmissionRequest.MAX_SCORES, message = "At most " + ScoreBatchSubmissionRequest.MAX_SCORES + " scores per batch")
+        List<@Valid ScoreSubmissionRequest> scores
+) {
+    public static final int MAX_SCORES = 100;
+}
@@ -0,0 +1,12 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response object returned after a batch score submission")
+public record ScoreBatchSubmitResponse(
+        @Schema(description = "One result per submitted score, in request order")
+        List<ScoreBatchEntryResponse> results
+) {
+}
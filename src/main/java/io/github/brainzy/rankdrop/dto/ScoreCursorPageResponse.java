@@ -0,0 +1,15 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of a cursor-based score export")
+public record ScoreCursorPageResponse(
+        @Schema(description = "Score entries of this page with their ranks")
+        List<ScoreEntryResponse> scores,
+
+        @Schema(description = "Cursor for the next page, null when this is the last page", example = "QJOIAAAAAABlkgkAAAAAAAAAAAAAAGQAAAAAAAAB9A")
+        String nextCursor
+) {
+}
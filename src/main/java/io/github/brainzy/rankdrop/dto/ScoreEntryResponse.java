@@ -1,5 +1,6 @@
 package io.github.brainzy.rankdrop.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.brainzy.rankdrop.entity.ScoreEntry;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -23,8 +24,17 @@ public record ScoreEntryResponse(
         LocalDateTime submittedAt,
 
         @Schema(description = "Optional metadata associated with the score", example = "Level 5 - Warrior")
-        String metadata
+        String metadata,
+
+        // Row revision, lets the top-100 cache tell a late commit from a newer one
+        @JsonIgnore
+        @Schema(hidden = true)
+        long revision
 ) {
+    public ScoreEntryResponse(Long id, String playerAlias, double scoreValue, long rank, LocalDateTime submittedAt, String metadata) {
+        this(id, playerAlias, scoreValue, rank, submittedAt, metadata, 0L);
+    }
+
     public static ScoreEntryResponse fromEntity(ScoreEntry entry, long rank) {
         return new ScoreEntryResponse(
                 entry.getId(),
@@ -32,7 +42,8 @@ public record ScoreEntryResponse(
                 entry.getScoreValue(),
                 rank,
                 entry.getSubmittedAt(),
-                entry.getMetadata()
+                entry.getMetadata(),
+                entry.getRevision()
         );
     }
 }
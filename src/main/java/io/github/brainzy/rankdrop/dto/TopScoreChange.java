@@ -0,0 +1,19 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One entry of a top scores diff")
+public record TopScoreChange(
+        @Schema(description = "Player name", example = "Player1")
+        String n,
+
+        @Schema(description = "Score value", example = "9500")
+        double s,
+
+        @Schema(description = "Rank after the change, null when the entry left the list", example = "2")
+        Long r,
+
+        @Schema(description = "Rank before the change, null when the entry just entered the list", example = "5")
+        Long from
+) {
+}
@@ -0,0 +1,18 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Changes to a subscriber's top N since the previous event", example = "{\"entered\": [{\"n\": \"Player3\", \"s\": 9900, \"r\": 1, \"from\": null}], \"moved\": [{\"n\": \"Player1\", \"s\": 9500, \"r\": 2, \"from\": 1}], \"left\": [{\"n\": \"Player9\", \"s\": 100, \"r\": null, \"from\": 10}]}")
+public record TopScoresDiffEvent(
+        @Schema(description = "Entries that entered the top N")
+        List<TopScoreChange> entered,
+
+        @Schema(description = "Entries that stayed in the top N but changed rank or score")
+        List<TopScoreChange> moved,
+
+        @Schema(description = "Entries that dropped out of the top N")
+        List<TopScoreChange> left
+) {
+}
@@ -0,0 +1,18 @@
+package io.github.brainzy.rankdrop.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response object containing a list of top scores with metadata", example = "{\"scores\": [{\"n\": \"Player1\", \"s\": 9500, \"m\": \"Sword-Level5\"}, {\"n\": \"Player2\", \"s\": 8200, \"m\": null}]}")
+public record TopScoresWithMetadataListResponse(
+        @Schema(description = "List of top scores with metadata")
+        List<TopScoreWithMetadataResponse> scores
+) {
+    public static TopScoresWithMetadataListResponse fromScoreEntryResponses(List<ScoreEntryResponse> responses) {
+        List<TopScoreWithMetadataResponse> topScores = responses.stream()
+                .map(TopScoreWithMetadataResponse::fromScoreEntryResponse)
+                .toList();
+        return new TopScoresWithMetadataListResponse(topScores);
+    }
+}
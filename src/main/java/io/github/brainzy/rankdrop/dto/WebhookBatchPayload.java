@@ -0,0 +1,10 @@
+package io.github.brainzy.rankdrop.dto;
+
+import java.util.List;
+
+public record WebhookBatchPayload(
+        String event,
+        String leaderboard,
+        List<WebhookPayload> events,
+        String timestamp
+) {}
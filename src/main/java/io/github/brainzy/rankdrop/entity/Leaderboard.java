@@ -63,6 +63,11 @@ public class Leaderboard {
     @Schema(description = "If true, scores are archived before automatic reset", example = "false")
     private boolean archiveOnReset = false;
 
+    @Builder.Default
+    @Column(name = "current_generation", nullable = false)
+    @Schema(description = "Current score generation, incremented on every reset", example = "0")
+    private long currentGeneration = 0L;
+
     @Column(name = "next_reset_at")
     @Schema(description = "Timestamp of the next scheduled reset", example = "2023-11-01T00:00:00")
     private LocalDateTime nextResetAt;
@@ -0,0 +1,35 @@
+package io.github.brainzy.rankdrop.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "leaderboard_purges")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardPurge {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "leaderboard_id", nullable = false)
+    private Long leaderboardId;
+
+    @Column(name = "leaderboard_slug", nullable = false)
+    private String leaderboardSlug;
+
+    @Column(nullable = false)
+    private long generation;
+
+    // Archive label for the purged rows, null when they are deleted without archiving
+    @Column(name = "reset_label")
+    private String resetLabel;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+}
@@ -12,14 +12,14 @@ import java.time.ZoneOffset;
 
 @Entity
 @Table(name = "score_entries", indexes = {
-        @Index(name = "idx_leaderboard_score_desc",
-                columnList = "leaderboard_id, scoreValue DESC, submittedAt ASC"),
+        @Index(name = "idx_score_entries_seek_desc",
+                columnList = "leaderboard_id, generation, scoreValue DESC, submittedAt ASC, id ASC"),
         @Index(
-                name = "idx_leaderboard_score_asc",
-                columnList = "leaderboard_id, scoreValue ASC, submittedAt ASC"
+                name = "idx_score_entries_seek_asc",
+                columnList = "leaderboard_id, generation, scoreValue ASC, submittedAt ASC, id ASC"
         ),
         @Index(name = "idx_leaderboard_player",
-                columnList = "leaderboard_id, playerAlias")
+                columnList = "leaderboard_id, generation, playerAlias")
 })
 @Getter
 @Setter
@@ -39,6 +39,11 @@ public class ScoreEntry {
     @Schema(description = "The leaderboard this score belongs to")
     private Leaderboard leaderboard;
 
+    @Builder.Default
+    @Column(nullable = false)
+    @Schema(description = "Leaderboard generation this score belongs to; resets start a new one", example = "0")
+    private long generation = 0L;
+
     @NotBlank(message = "Player alias is required")
     @Schema(description = "The player's display name", example = "PlayerOne")
     @Column(nullable = false, length = 50)
@@ -55,4 +60,9 @@ public class ScoreEntry {
     @Schema(description = "Optional metadata string associated with the score", example = "Level 5 - Warrior")
     @Column(columnDefinition = "TEXT")
     private String metadata;
+
+    @Builder.Default
+    @Column(nullable = false)
+    @Schema(description = "Incremented by every update of the row, in commit order", example = "0")
+    private long revision = 0L;
 }
\ No newline at end of file
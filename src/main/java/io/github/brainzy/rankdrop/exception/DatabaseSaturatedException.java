@@ -0,0 +1,12 @@
+package io.github.brainzy.rankdrop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseSaturatedException extends RuntimeException {
+
+    public DatabaseSaturatedException() {
+        super("Database is saturated, try again shortly.");
+    }
+}
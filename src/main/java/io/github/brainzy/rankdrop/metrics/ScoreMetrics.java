@@ -0,0 +1,91 @@
+package io.github.brainzy.rankdrop.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the scoring hot paths. A slug only becomes a tag value when it is listed in
+ * {@code rankdrop.metrics.slug-allowlist}; every other board reports as {@code other}, so the
+ * number of series stays bounded however many boards exist.
+ */
+@Component
+public class ScoreMetrics {
+
+    public static final String NO_STRATEGY = "none";
+    static final String OTHER_SLUG = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> slugAllowlist;
+    private final Map<OperationKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<CacheKey, Counter> cacheLookups = new ConcurrentHashMap<>();
+
+    public ScoreMetrics(MeterRegistry meterRegistry,
+                        @Value("${rankdrop.metrics.slug-allowlist:}") Set<String> slugAllowlist) {
+        this.meterRegistry = meterRegistry;
+        this.slugAllowlist = Set.copyOf(slugAllowlist);
+    }
+
+    public <T> T time(Operation operation, String slug, String strategy, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            T result = call.get();
+            success = true;
+            return result;
+        } finally {
+            stop(sample, operation, slug, strategy, success);
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, Operation operation, String slug, String strategy, boolean success) {
+        OperationKey key = new OperationKey(operation, slugTag(slug), strategy, success);
+        sample.stop(timers.computeIfAbsent(key, k -> Timer.builder("rankdrop.score.operation")
+                .description("Time spent in each score operation")
+                .tag("operation", k.operation().tagValue())
+                .tag("slug", k.slug())
+                .tag("strategy", k.strategy())
+                .tag("outcome", k.success() ? "success" : "error")
+                .register(meterRegistry)));
+    }
+
+    public void recordCacheLookup(String cache, String slug, boolean hit) {
+        cacheLookups.computeIfAbsent(new CacheKey(cache, slugTag(slug), hit), k -> Counter.builder("rankdrop.cache.lookups")
+                        .description("Cache lookups by result; hit ratio is hit / (hit + miss)")
+                        .tag("cache", k.cache())
+                        .tag("slug", k.slug())
+                        .tag("result", k.hit() ? "hit" : "miss")
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    String slugTag(String slug) {
+        return slugAllowlist.contains(slug) ? slug : OTHER_SLUG;
+    }
+
+    public enum Operation {
+        SUBMIT, BATCH_SUBMIT, TOP, SURROUNDING, EXPORT;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record OperationKey(Operation operation, String slug, String strategy, boolean success) {
+    }
+
+    private record CacheKey(String cache, String slug, boolean hit) {
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.brainzy.rankdrop.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements prepared on behalf of the current request. The count lives in a
+ * thread local opened by {@link StatementCountInterceptor}; work handed to another thread only
+ * adds to it when wrapped with {@link #propagating(Supplier)}.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    static void begin() {
+        CURRENT.set(new AtomicInteger());
+    }
+
+    /**
+     * Closes the current count and returns it, or -1 when none was open on this thread.
+     */
+    static int end() {
+        AtomicInteger counter = CURRENT.get();
+        CURRENT.remove();
+        return counter == null ? -1 : counter.get();
+    }
+
+    static void increment() {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wraps a task so statements it runs on another thread count towards the caller's request.
+     */
+    public static <T> Supplier<T> propagating(Supplier<T> task) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
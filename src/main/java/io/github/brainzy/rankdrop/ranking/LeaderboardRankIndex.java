@@ -0,0 +1,118 @@
+package io.github.brainzy.rankdrop.ranking;
+
+import io.github.brainzy.rankdrop.entity.SortOrder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of a single leaderboard. Answers rank, top-N and surrounding lookups
+ * in O(log n) without touching the database.
+ */
+public class LeaderboardRankIndex {
+
+    private final ScoreRankTree tree;
+    private final Map<Long, RankedScore> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LeaderboardRankIndex(SortOrder sortOrder) {
+        this.tree = new ScoreRankTree(RankedScore.comparator(sortOrder));
+    }
+
+    public static LeaderboardRankIndex of(SortOrder sortOrder, Collection<RankedScore> scores) {
+        LeaderboardRankIndex index = new LeaderboardRankIndex(sortOrder);
+        scores.forEach(index::upsert);
+        return index;
+    }
+
+    public void upsert(RankedScore score) {
+        lock.writeLock().lock();
+        try {
+            RankedScore previous = byId.put(score.id(), score);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            tree.insert(score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            RankedScore previous = byId.remove(id);
+            return previous != null && tree.remove(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the scores that would rank ahead of the candidate if it replaced the stored
+     * entry with the same id. Used to answer a submission before the index is updated.
+     */
+    public long countBetter(RankedScore candidate) {
+        lock.readLock().lock();
+        try {
+            long count = tree.countBefore(candidate);
+            RankedScore previous = byId.get(candidate.id());
+            if (previous != null && tree.comparator().compare(previous, candidate) < 0) {
+                count--;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalLong countBetter(Long id) {
+        lock.readLock().lock();
+        try {
+            RankedScore score = byId.get(id);
+            return score == null ? OptionalLong.empty() : OptionalLong.of(tree.countBefore(score));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RankedScore> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return tree.range(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<RankWindow> window(Long id, int surrounding) {
+        lock.readLock().lock();
+        try {
+            RankedScore score = byId.get(id);
+            if (score == null) {
+                return Optional.empty();
+            }
+            int position = (int) tree.countBefore(score);
+            int from = Math.max(0, position - Math.max(0, surrounding));
+            int count = position - from + 1 + Math.max(0, surrounding);
+            return Optional.of(new RankWindow(from + 1L, tree.range(from, count)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.brainzy.rankdrop.ranking;
+
+import java.util.List;
+
+public record RankWindow(
+        long startRank,
+        List<RankedScore> scores
+) {
+}
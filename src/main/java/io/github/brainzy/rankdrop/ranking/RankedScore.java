@@ -0,0 +1,32 @@
+package io.github.brainzy.rankdrop.ranking;
+
+import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+public record RankedScore(
+        Long id,
+        String playerAlias,
+        double scoreValue,
+        LocalDateTime submittedAt
+) {
+    public static RankedScore fromEntity(ScoreEntry entry) {
+        return new RankedScore(entry.getId(), entry.getPlayerAlias(), entry.getScoreValue(), entry.getSubmittedAt());
+    }
+
+    /**
+     * Orders scores best first, the same way the SQL rank queries do: by score in the board's
+     * direction, then earliest submission, then lowest id, so every entry has a rank of its own.
+     */
+    public static Comparator<RankedScore> comparator(SortOrder sortOrder) {
+        Comparator<RankedScore> byScore = Comparator.comparingDouble(RankedScore::scoreValue);
+        if (sortOrder != SortOrder.ASC) {
+            byScore = byScore.reversed();
+        }
+        return byScore
+                .thenComparing(RankedScore::submittedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(RankedScore::id);
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.brainzy.rankdrop.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap. Every node tracks the size of its subtree, so rank lookups and
+ * positional selects run in O(log n). Not thread-safe; callers guard it.
+ */
+public class ScoreRankTree {
+
+    private final Comparator<RankedScore> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public ScoreRankTree(Comparator<RankedScore> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(RankedScore score) {
+        root = insert(root, score);
+    }
+
+    public boolean remove(RankedScore score) {
+        int before = size(root);
+        root = remove(root, score);
+        return size(root) < before;
+    }
+
+    /**
+     * Number of scores ordered strictly before the given one, i.e. its zero-based rank.
+     */
+    public long countBefore(RankedScore score) {
+        long count = 0;
+        Node node = root;
+        while (node != null) {
+            if (comparator.compare(score, node.score) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    public RankedScore select(int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size(root));
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.score;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    public List<RankedScore> range(int fromIndex, int count) {
+        int toIndex = Math.min(size(root), fromIndex + count);
+        List<RankedScore> result = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+        for (int i = Math.max(0, fromIndex); i < toIndex; i++) {
+            result.add(select(i));
+        }
+        return result;
+    }
+
+    public Comparator<RankedScore> comparator() {
+        return comparator;
+    }
+
+    private Node insert(Node node, RankedScore score) {
+        if (node == null) {
+            return new Node(score, random.nextInt());
+        }
+        if (comparator.compare(score, node.score) < 0) {
+            node.left = insert(node.left, score);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, score);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, RankedScore score) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(score, node.score);
+        if (cmp < 0) {
+            node.left = remove(node.left, score);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, score);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final RankedScore score;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(RankedScore score, int priority) {
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.brainzy.rankdrop.repository;
+
+import io.github.brainzy.rankdrop.entity.LeaderboardPurge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaderboardPurgeRepository extends JpaRepository<LeaderboardPurge, Long> {
+
+    List<LeaderboardPurge> findAllByOrderByIdAsc();
+
+    void deleteByLeaderboardId(Long leaderboardId);
+}
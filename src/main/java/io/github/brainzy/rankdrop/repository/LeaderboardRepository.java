@@ -1,7 +1,11 @@
 package io.github.brainzy.rankdrop.repository;
 
 import io.github.brainzy.rankdrop.entity.Leaderboard;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,6 +15,15 @@ import java.util.Optional;
 @Repository
 public interface LeaderboardRepository extends JpaRepository<Leaderboard, Long> {
     Optional<Leaderboard> findBySlug(String slug);
-    
-    List<Leaderboard> findAllByNextResetAtBefore(LocalDateTime dateTime);
+
+    // Waits for in-flight score inserts, which share-lock the row through the foreign key, and blocks new ones until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Leaderboard l WHERE l.slug = :slug")
+    Optional<Leaderboard> findBySlugForUpdate(@Param("slug") String slug);
+
+    // Locked like findBySlugForUpdate, so a scheduled reset and an admin reset of the same board run one after the other;
+    // the loser re-reads the row and, once the winner moved next_reset_at forward, no longer matches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Leaderboard l WHERE l.nextResetAt < :dateTime")
+    List<Leaderboard> findAllDueForResetForUpdate(@Param("dateTime") LocalDateTime dateTime);
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package io.github.brainzy.rankdrop.repository;
 
 import io.github.brainzy.rankdrop.entity.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,10 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     boolean existsByPlayerAlias(String playerAlias);
     
     List<Player> findByBannedTrue();
+
+    @Query("SELECT p.playerAlias FROM Player p WHERE p.banned = true")
+    List<String> findBannedAliases();
+
+    @Query("SELECT p.playerAlias FROM Player p WHERE p.banned = true AND p.playerAlias IN :aliases")
+    List<String> findBannedAliasesIn(@Param("aliases") Collection<String> aliases);
 }
@@ -1,48 +1,94 @@
 package io.github.brainzy.rankdrop.repository;
 
-import io.github.brainzy.rankdrop.entity.Leaderboard;
 import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import io.github.brainzy.rankdrop.ranking.RankedScore;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface ScoreEntryRepository extends JpaRepository<ScoreEntry, Long> {
-    void deleteByLeaderboard(Leaderboard leaderboard);
+    Page<ScoreEntry> findByLeaderboard_IdAndGeneration(Long leaderboardId, long generation, Pageable pageable);
 
-    Page<ScoreEntry> findByLeaderboard_Slug(String slug, Pageable pageable);
+    List<ScoreEntry> findPageByLeaderboard_IdAndGeneration(Long leaderboardId, long generation, Pageable pageable);
 
-    @Modifying
-    @Query(value = "UPDATE score_entries SET score_value = score_value + :value, submitted_at = :now WHERE leaderboard_id = :leaderboardId AND player_alias = :playerAlias", nativeQuery = true)
-    int incrementScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now);
+    @Query("SELECT s FROM ScoreEntry s WHERE s.leaderboard.id = :leaderboardId AND s.generation = :generation AND (s.scoreValue < :score " +
+            "OR (s.scoreValue = :score AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :lastId)))) " +
+            "ORDER BY s.scoreValue DESC, s.submittedAt ASC, s.id ASC")
+    List<ScoreEntry> findPageAfterDesc(@Param("leaderboardId") Long leaderboardId, @Param("generation") long generation, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt, @Param("lastId") Long lastId, Limit limit);
 
-    @Modifying
-    @Query(value = "UPDATE score_entries SET score_value = :value, submitted_at = :now WHERE leaderboard_id = :leaderboardId AND player_alias = :playerAlias AND score_value < :value", nativeQuery = true)
-    int updateIfHigherScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now);
+    @Query("SELECT s FROM ScoreEntry s WHERE s.leaderboard.id = :leaderboardId AND s.generation = :generation AND (s.scoreValue > :score " +
+            "OR (s.scoreValue = :score AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :lastId)))) " +
+            "ORDER BY s.scoreValue ASC, s.submittedAt ASC, s.id ASC")
+    List<ScoreEntry> findPageAfterAsc(@Param("leaderboardId") Long leaderboardId, @Param("generation") long generation, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt, @Param("lastId") Long lastId, Limit limit);
 
-    @Modifying
-    @Query(value = "UPDATE score_entries SET score_value = :value, submitted_at = :now WHERE leaderboard_id = :leaderboardId AND player_alias = :playerAlias AND score_value > :value", nativeQuery = true)
-    int updateIfLowerScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now);
+    @Query("SELECT new io.github.brainzy.rankdrop.ranking.RankedScore(s.id, s.playerAlias, s.scoreValue, s.submittedAt) " +
+            "FROM ScoreEntry s WHERE s.leaderboard.id = :leaderboardId AND s.generation = :generation")
+    List<RankedScore> findRankedScores(@Param("leaderboardId") Long leaderboardId, @Param("generation") long generation);
 
-    Optional<ScoreEntry> findByLeaderboardIdAndPlayerAlias(Long leaderboardId, String playerAlias);
+    /**
+     * Reads the board's current generation under a share lock, so a write conflicts with a
+     * concurrent reset instead of landing in the generation it just retired. Yields no row, and
+     * so no write, once the board is gone.
+     */
+    String CURRENT_GENERATION = "WITH board AS (SELECT current_generation FROM leaderboards WHERE id = :leaderboardId FOR SHARE) ";
 
-    @Query(value = "SELECT COUNT(*) FROM score_entries WHERE leaderboard_id = :leaderboardId AND (score_value > :score OR (score_value = :score AND submitted_at < :submittedAt))", nativeQuery = true)
-    long countBetterScoresDesc(@Param("leaderboardId") Long leaderboardId, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt);
+    @Query(value = CURRENT_GENERATION +
+            "INSERT INTO score_entries (leaderboard_id, generation, player_alias, score_value, submitted_at, metadata, player_unique) " +
+            "SELECT :leaderboardId, board.current_generation, :playerAlias, :value, :now, CAST(:metadata AS TEXT), FALSE FROM board " +
+            "RETURNING *", nativeQuery = true)
+    ScoreEntry insertScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now, @Param("metadata") String metadata);
 
-    @Query(value = "SELECT COUNT(*) FROM score_entries WHERE leaderboard_id = :leaderboardId AND (score_value < :score OR (score_value = :score AND submitted_at < :submittedAt))", nativeQuery = true)
-    long countBetterScoresAsc(@Param("leaderboardId") Long leaderboardId, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt);
+    @Query(value = CURRENT_GENERATION +
+            "INSERT INTO score_entries (leaderboard_id, generation, player_alias, score_value, submitted_at, metadata, player_unique) " +
+            "SELECT :leaderboardId, board.current_generation, :playerAlias, :value, :now, CAST(:metadata AS TEXT), TRUE FROM board " +
+            "ON CONFLICT (leaderboard_id, generation, player_alias) WHERE player_unique DO UPDATE " +
+            "SET revision = score_entries.revision + 1, score_value = score_entries.score_value + EXCLUDED.score_value, submitted_at = EXCLUDED.submitted_at " +
+            "RETURNING *", nativeQuery = true)
+    ScoreEntry upsertCumulativeScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now, @Param("metadata") String metadata);
 
-    @Query(value = "SELECT * FROM score_entries WHERE leaderboard_id = :leaderboardId AND (score_value > :score OR (score_value = :score AND submitted_at < :submittedAt)) ORDER BY score_value ASC, submitted_at DESC", nativeQuery = true)
-    Slice<ScoreEntry> findHigherScores(@Param("leaderboardId") Long leaderboardId, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt, Pageable pageable);
+    // A score that does not improve leaves the row untouched and returns nothing; read it with findCurrentPlayerEntry
+    @Query(value = CURRENT_GENERATION +
+            "INSERT INTO score_entries (leaderboard_id, generation, player_alias, score_value, submitted_at, metadata, player_unique) " +
+            "SELECT :leaderboardId, board.current_generation, :playerAlias, :value, :now, CAST(:metadata AS TEXT), TRUE FROM board " +
+            "ON CONFLICT (leaderboard_id, generation, player_alias) WHERE player_unique DO UPDATE " +
+            "SET revision = score_entries.revision + 1, score_value = EXCLUDED.score_value, " +
+            "submitted_at = EXCLUDED.submitted_at, metadata = EXCLUDED.metadata " +
+            "WHERE EXCLUDED.score_value > score_entries.score_value " +
+            "RETURNING *", nativeQuery = true)
+    ScoreEntry upsertIfHigherScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now, @Param("metadata") String metadata);
 
-    @Query(value = "SELECT * FROM score_entries WHERE leaderboard_id = :leaderboardId AND (score_value < :score OR (score_value = :score AND submitted_at > :submittedAt)) ORDER BY score_value DESC, submitted_at ASC", nativeQuery = true)
-    Slice<ScoreEntry> findLowerScores(@Param("leaderboardId") Long leaderboardId, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt, Pageable pageable);
+    @Query(value = CURRENT_GENERATION +
+            "INSERT INTO score_entries (leaderboard_id, generation, player_alias, score_value, submitted_at, metadata, player_unique) " +
+            "SELECT :leaderboardId, board.current_generation, :playerAlias, :value, :now, CAST(:metadata AS TEXT), TRUE FROM board " +
+            "ON CONFLICT (leaderboard_id, generation, player_alias) WHERE player_unique DO UPDATE " +
+            "SET revision = score_entries.revision + 1, score_value = EXCLUDED.score_value, " +
+            "submitted_at = EXCLUDED.submitted_at, metadata = EXCLUDED.metadata " +
+            "WHERE EXCLUDED.score_value < score_entries.score_value " +
+            "RETURNING *", nativeQuery = true)
+    ScoreEntry upsertIfLowerScore(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias, @Param("value") double value, @Param("now") LocalDateTime now, @Param("metadata") String metadata);
+
+    // The player's row in the board's current generation; null when the board is gone
+    @Query(value = "SELECT s.* FROM score_entries s JOIN leaderboards l ON l.id = s.leaderboard_id AND s.generation = l.current_generation " +
+            "WHERE s.leaderboard_id = :leaderboardId AND s.player_alias = :playerAlias AND s.player_unique", nativeQuery = true)
+    ScoreEntry findCurrentPlayerEntry(@Param("leaderboardId") Long leaderboardId, @Param("playerAlias") String playerAlias);
+
+    // A list: MULTIPLE_ENTRIES boards hold several rows per player, so callers sort for the best one
+    List<ScoreEntry> findByLeaderboardIdAndGenerationAndPlayerAlias(Long leaderboardId, long generation, String playerAlias, Sort sort, Limit limit);
+
+    @Query(value = "SELECT COUNT(*) FROM score_entries WHERE leaderboard_id = :leaderboardId AND generation = :generation AND (score_value > :score " +
+            "OR (score_value = :score AND (submitted_at < :submittedAt OR (submitted_at = :submittedAt AND id < :id))))", nativeQuery = true)
+    long countBetterScoresDesc(@Param("leaderboardId") Long leaderboardId, @Param("generation") long generation, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt, @Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM score_entries WHERE leaderboard_id = :leaderboardId AND generation = :generation AND (score_value < :score " +
+            "OR (score_value = :score AND (submitted_at < :submittedAt OR (submitted_at = :submittedAt AND id < :id))))", nativeQuery = true)
+    long countBetterScoresAsc(@Param("leaderboardId") Long leaderboardId, @Param("generation") long generation, @Param("score") double score, @Param("submittedAt") LocalDateTime submittedAt, @Param("id") Long id);
 }
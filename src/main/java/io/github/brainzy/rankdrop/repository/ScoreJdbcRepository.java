@@ -0,0 +1,298 @@
+package io.github.brainzy.rankdrop.repository;
+
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import io.github.brainzy.rankdrop.entity.ScoreStrategy;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access for paths where entity hydration is pure overhead.
+ */
+@Repository
+public class ScoreJdbcRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    // Equal scores rank by submission time, then id, matching RankedScore.comparator, so no two rows share a rank
+    private static final String EARLIER_TIE = "(s.submitted_at < me.submitted_at OR (s.submitted_at = me.submitted_at AND s.id < me.id))";
+    private static final String LATER_TIE = "(s.submitted_at > me.submitted_at OR (s.submitted_at = me.submitted_at AND s.id > me.id))";
+
+    private static final String SURROUNDING_DESC = surroundingQuery(
+            "s.score_value > me.score_value OR (s.score_value = me.score_value AND " + EARLIER_TIE + ")",
+            "s.score_value < me.score_value OR (s.score_value = me.score_value AND " + LATER_TIE + ")",
+            "score_value DESC, submitted_at ASC, id ASC",
+            "s.score_value ASC, s.submitted_at DESC, s.id DESC",
+            "s.score_value DESC, s.submitted_at ASC, s.id ASC");
+
+    private static final String SURROUNDING_ASC = surroundingQuery(
+            "s.score_value < me.score_value OR (s.score_value = me.score_value AND " + EARLIER_TIE + ")",
+            "s.score_value > me.score_value OR (s.score_value = me.score_value AND " + LATER_TIE + ")",
+            "score_value ASC, submitted_at ASC, id ASC",
+            "s.score_value DESC, s.submitted_at DESC, s.id DESC",
+            "s.score_value ASC, s.submitted_at ASC, s.id ASC");
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ScoreJdbcRepository(DataSource dataSource, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the player's best entry and up to {@code surrounding} neighbours on each side,
+     * ranked and in rank order, in one round trip. Empty when the player has no entry.
+     * Ranks follow the count query used on submit, with the id breaking ties on score and timestamp.
+     */
+    public List<ScoreEntryResponse> findWithSurrounding(Long leaderboardId, long generation, SortOrder sortOrder,
+                                                        String playerAlias, int surrounding) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("leaderboardId", leaderboardId)
+                .addValue("generation", generation)
+                .addValue("playerAlias", playerAlias)
+                .addValue("surrounding", Math.max(0, surrounding));
+
+        return jdbcTemplate.query(sortOrder == SortOrder.ASC ? SURROUNDING_ASC : SURROUNDING_DESC, params,
+                (rs, rowNum) -> new ScoreEntryResponse(
+                        rs.getLong("id"),
+                        rs.getString("player_alias"),
+                        rs.getDouble("score_value"),
+                        rs.getLong("rank"),
+                        readUtc(rs, "submitted_at"),
+                        rs.getString("metadata")
+                ));
+    }
+
+    /**
+     * Hands every score of the board to the consumer in rank order, one row at a time. The
+     * PostgreSQL driver only uses a server-side cursor inside a transaction, so callers must
+     * open one or the whole result set is buffered.
+     */
+    public void streamRanked(Long leaderboardId, long generation, SortOrder sortOrder, Consumer<ScoreEntryResponse> consumer) {
+        String direction = sortOrder == SortOrder.ASC ? "ASC" : "DESC";
+        String sql = "SELECT id, player_alias, score_value, submitted_at, metadata FROM score_entries " +
+                "WHERE leaderboard_id = ? AND generation = ? ORDER BY score_value " + direction + ", submitted_at ASC, id ASC";
+
+        long[] rank = {0};
+        streamingJdbcTemplate.query(sql, rs -> {
+            consumer.accept(new ScoreEntryResponse(
+                    rs.getLong("id"),
+                    rs.getString("player_alias"),
+                    rs.getDouble("score_value"),
+                    ++rank[0],
+                    readUtc(rs, "submitted_at"),
+                    rs.getString("metadata")
+            ));
+        }, leaderboardId, generation);
+    }
+
+    /**
+     * Writes a batch of submissions in one statement, with the same conflict handling and
+     * generation lookup as the single-score upserts, and returns the stored rows in input order,
+     * or an empty list when the board no longer exists. For BEST_ONLY and CUMULATIVE every alias
+     * may appear only once, since an upsert cannot touch a row twice.
+     */
+    public List<ScoreEntry> upsertBatch(Long leaderboardId, ScoreStrategy strategy, SortOrder sortOrder,
+                                        String[] playerAliases, double[] values, String[] metadata, OffsetDateTime now) {
+        String onConflict = switch (strategy) {
+            case MULTIPLE_ENTRIES -> "";
+            case CUMULATIVE -> "ON CONFLICT (leaderboard_id, generation, player_alias) WHERE player_unique DO UPDATE " +
+                    "SET revision = score_entries.revision + 1, score_value = score_entries.score_value + EXCLUDED.score_value, submitted_at = EXCLUDED.submitted_at ";
+            case BEST_ONLY -> {
+                String improves = sortOrder == SortOrder.ASC ? "<" : ">";
+                yield "ON CONFLICT (leaderboard_id, generation, player_alias) WHERE player_unique DO UPDATE " +
+                        "SET revision = score_entries.revision + 1, score_value = EXCLUDED.score_value, " +
+                        "submitted_at = EXCLUDED.submitted_at, metadata = EXCLUDED.metadata " +
+                        "WHERE EXCLUDED.score_value " + improves + " score_entries.score_value ";
+            }
+        };
+        // Ordered by position so the ids drawn from the sequence ascend in input order
+        String sql = "WITH board AS (SELECT current_generation FROM leaderboards WHERE id = ? FOR SHARE) " +
+                "INSERT INTO score_entries (leaderboard_id, generation, player_alias, score_value, submitted_at, metadata, player_unique) " +
+                "SELECT ?, board.current_generation, t.player_alias, t.score_value, ?, t.metadata, ? " +
+                "FROM board, unnest(CAST(? AS TEXT[]), CAST(? AS FLOAT8[]), CAST(? AS TEXT[])) WITH ORDINALITY AS t(player_alias, score_value, metadata, position) " +
+                "ORDER BY t.position " +
+                onConflict +
+                "RETURNING id, generation, player_alias, score_value, submitted_at, metadata, revision";
+
+        List<ScoreEntry> rows = jdbcTemplate.getJdbcTemplate().query(sql, ScoreJdbcRepository::mapStoredRow,
+                leaderboardId, leaderboardId, now, strategy != ScoreStrategy.MULTIPLE_ENTRIES, playerAliases, values, metadata);
+
+        if (strategy == ScoreStrategy.MULTIPLE_ENTRIES) {
+            rows.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            return rows;
+        }
+        Map<String, ScoreEntry> byAlias = new HashMap<>();
+        rows.forEach(row -> byAlias.put(row.getPlayerAlias(), row));
+        if (rows.size() < playerAliases.length) {
+            // BEST_ONLY rows that did not improve were left alone and returned nothing; read their stored best
+            String[] unchanged = Arrays.stream(playerAliases).filter(alias -> !byAlias.containsKey(alias)).toArray(String[]::new);
+            jdbcTemplate.getJdbcTemplate().query(
+                    "SELECT s.id, s.generation, s.player_alias, s.score_value, s.submitted_at, s.metadata, s.revision " +
+                            "FROM score_entries s JOIN leaderboards l ON l.id = s.leaderboard_id AND s.generation = l.current_generation " +
+                            "WHERE s.leaderboard_id = ? AND s.player_unique AND s.player_alias = ANY(CAST(? AS TEXT[]))",
+                    ScoreJdbcRepository::mapStoredRow, leaderboardId, unchanged)
+                    .forEach(row -> byAlias.put(row.getPlayerAlias(), row));
+        }
+        if (byAlias.isEmpty()) {
+            return List.of();
+        }
+        List<ScoreEntry> ordered = new ArrayList<>(playerAliases.length);
+        for (String alias : playerAliases) {
+            ordered.add(byAlias.get(alias));
+        }
+        return ordered;
+    }
+
+    /**
+     * Counts, for each entry id, the scores ranked ahead of it using the same rule as the
+     * single-score count queries, in one round trip.
+     */
+    public Map<Long, Long> countBetterScores(Long leaderboardId, long generation, SortOrder sortOrder, long[] entryIds) {
+        String better = sortOrder == SortOrder.ASC ? "<" : ">";
+        String sql = "SELECT e.id, (SELECT COUNT(*) FROM score_entries s " +
+                "WHERE s.leaderboard_id = ? AND s.generation = ? AND (s.score_value " + better + " e.score_value " +
+                "OR (s.score_value = e.score_value AND (s.submitted_at < e.submitted_at " +
+                "OR (s.submitted_at = e.submitted_at AND s.id < e.id))))) AS better " +
+                "FROM score_entries e WHERE e.id = ANY(CAST(? AS BIGINT[]))";
+
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(sql, rs -> {
+            counts.put(rs.getLong("id"), rs.getLong("better"));
+        }, leaderboardId, generation, entryIds);
+        return counts;
+    }
+
+    /**
+     * Lowest and highest score entry id of the board across all generations, empty when it has no scores.
+     */
+    public Optional<IdRange> findIdRange(Long leaderboardId) {
+        return queryIdRange("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM score_entries WHERE leaderboard_id = :leaderboardId",
+                new MapSqlParameterSource("leaderboardId", leaderboardId));
+    }
+
+    /**
+     * Lowest and highest score entry id of one generation of the board, empty when it has no scores.
+     */
+    public Optional<IdRange> findIdRange(Long leaderboardId, long generation) {
+        return queryIdRange("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM score_entries " +
+                        "WHERE leaderboard_id = :leaderboardId AND generation = :generation",
+                new MapSqlParameterSource("leaderboardId", leaderboardId).addValue("generation", generation));
+    }
+
+    /**
+     * Moves one generation's scores with ids in {@code [fromId, toId)} into the archive in one statement.
+     */
+    public int archiveRange(Long leaderboardId, long generation, String leaderboardSlug, long fromId, long toId,
+                            String resetLabel, OffsetDateTime archivedAt) {
+        MapSqlParameterSource params = rangeParams(leaderboardId, fromId, toId)
+                .addValue("generation", generation)
+                .addValue("slug", leaderboardSlug)
+                .addValue("resetLabel", resetLabel)
+                .addValue("archivedAt", archivedAt);
+        return jdbcTemplate.update(
+                "WITH moved AS (" +
+                "  DELETE FROM score_entries" +
+                "  WHERE leaderboard_id = :leaderboardId AND generation = :generation AND id >= :fromId AND id < :toId" +
+                "  RETURNING player_alias, score_value, submitted_at, metadata" +
+                ") " +
+                "INSERT INTO score_archive (leaderboard_slug, player_alias, score_value, submitted_at, archived_at, reset_label, metadata) " +
+                "SELECT :slug, player_alias, score_value, submitted_at, :archivedAt, :resetLabel, metadata FROM moved",
+                params);
+    }
+
+    public int deleteRange(Long leaderboardId, long fromId, long toId) {
+        return jdbcTemplate.update(
+                "DELETE FROM score_entries WHERE leaderboard_id = :leaderboardId AND id >= :fromId AND id < :toId",
+                rangeParams(leaderboardId, fromId, toId));
+    }
+
+    public int deleteRange(Long leaderboardId, long generation, long fromId, long toId) {
+        return jdbcTemplate.update(
+                "DELETE FROM score_entries WHERE leaderboard_id = :leaderboardId AND generation = :generation " +
+                "AND id >= :fromId AND id < :toId",
+                rangeParams(leaderboardId, fromId, toId).addValue("generation", generation));
+    }
+
+    private Optional<IdRange> queryIdRange(String sql, MapSqlParameterSource params) {
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            long minId = rs.getLong("min_id");
+            return rs.wasNull() ? null : new IdRange(minId, rs.getLong("max_id"));
+        }).stream().filter(Objects::nonNull).findFirst();
+    }
+
+    private static MapSqlParameterSource rangeParams(Long leaderboardId, long fromId, long toId) {
+        return new MapSqlParameterSource()
+                .addValue("leaderboardId", leaderboardId)
+                .addValue("fromId", fromId)
+                .addValue("toId", toId);
+    }
+
+    private static String surroundingQuery(String better, String worse, String bestFirst,
+                                           String aboveClosestFirst, String belowClosestFirst) {
+        return "WITH me AS (" +
+                "  SELECT id, player_alias, score_value, submitted_at, metadata FROM score_entries" +
+                "  WHERE leaderboard_id = :leaderboardId AND generation = :generation AND player_alias = :playerAlias" +
+                "  ORDER BY " + bestFirst + " LIMIT 1" +
+                "), ahead AS (" +
+                "  SELECT COUNT(*) AS better FROM score_entries s, me" +
+                "  WHERE s.leaderboard_id = :leaderboardId AND s.generation = :generation AND (" + better + ")" +
+                "), above AS (" +
+                "  SELECT s.id, s.player_alias, s.score_value, s.submitted_at, s.metadata," +
+                "         ROW_NUMBER() OVER (ORDER BY " + aboveClosestFirst + ") AS distance" +
+                "  FROM score_entries s, me" +
+                "  WHERE s.leaderboard_id = :leaderboardId AND s.generation = :generation AND (" + better + ")" +
+                "  ORDER BY " + aboveClosestFirst + " LIMIT :surrounding" +
+                "), below AS (" +
+                "  SELECT s.id, s.player_alias, s.score_value, s.submitted_at, s.metadata," +
+                "         ROW_NUMBER() OVER (ORDER BY " + belowClosestFirst + ") AS distance" +
+                "  FROM score_entries s, me" +
+                "  WHERE s.leaderboard_id = :leaderboardId AND s.generation = :generation AND (" + worse + ")" +
+                "  ORDER BY " + belowClosestFirst + " LIMIT :surrounding" +
+                ") " +
+                "SELECT me.*, ahead.better + 1 AS rank FROM me, ahead " +
+                "UNION ALL SELECT a.id, a.player_alias, a.score_value, a.submitted_at, a.metadata, ahead.better + 1 - a.distance FROM above a, ahead " +
+                "UNION ALL SELECT b.id, b.player_alias, b.score_value, b.submitted_at, b.metadata, ahead.better + 1 + b.distance FROM below b, ahead " +
+                "ORDER BY rank";
+    }
+
+    private static ScoreEntry mapStoredRow(ResultSet rs, int rowNum) throws SQLException {
+        return ScoreEntry.builder()
+                .id(rs.getLong("id"))
+                .generation(rs.getLong("generation"))
+                .playerAlias(rs.getString("player_alias"))
+                .scoreValue(rs.getDouble("score_value"))
+                .submittedAt(readUtc(rs, "submitted_at"))
+                .metadata(rs.getString("metadata"))
+                .revision(rs.getLong("revision"))
+                .build();
+    }
+
+    static LocalDateTime readUtc(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value == null ? null : value.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    public record IdRange(long minId, long maxId) {
+    }
+}
@@ -28,7 +28,7 @@ public class LeaderboardScheduler {
     @Transactional
     public void processScheduledResets() {
         LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
-        List<Leaderboard> dueResets = leaderboardRepository.findAllByNextResetAtBefore(now);
+        List<Leaderboard> dueResets = leaderboardRepository.findAllDueForResetForUpdate(now);
 
         for (Leaderboard lb : dueResets) {
             log.info("Processing automatic reset for leaderboard: {}", lb.getSlug());
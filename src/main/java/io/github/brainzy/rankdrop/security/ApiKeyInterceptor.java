@@ -1,7 +1,6 @@
 package io.github.brainzy.rankdrop.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.brainzy.rankdrop.service.SystemSettingService;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -17,13 +16,16 @@ import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ApiKeyInterceptor implements HandlerInterceptor {
 
-    private final SystemSettingService systemSettingService;
+    private static final Pattern SCORE_SUBMIT_PATH = Pattern.compile("^/api/v1/leaderboards/[^/]+/scores(:batch)?$");
+
+    private final GameKeyStore gameKeyStore;
     private final ObjectMapper objectMapper;
 
     @Value("${ADMIN_SECRET:}")
@@ -32,17 +34,19 @@ public class ApiKeyInterceptor implements HandlerInterceptor {
     @Value("${GAME_SECRET:}")
     private String gameSecret;
 
+    private byte[] adminSecretBytes;
+    private byte[] gameSecretBytes;
+
     @PostConstruct
     public void init() {
-        if (adminSecret == null || adminSecret.isBlank()) {
+        adminSecretBytes = GameKeyStore.encode(adminSecret);
+        gameSecretBytes = GameKeyStore.encode(gameSecret);
+
+        if (adminSecretBytes == null) {
             log.error("CRITICAL: ADMIN_SECRET is not set! Admin endpoints will be inaccessible.");
         }
 
-        String dbKey = systemSettingService.getSetting("GAME_SECRET");
-        boolean hasEnvKey = gameSecret != null && !gameSecret.isBlank();
-        boolean hasDbKey = dbKey != null && !dbKey.isBlank();
-
-        if (!hasEnvKey && !hasDbKey) {
+        if (gameSecretBytes == null && !gameKeyStore.hasKey()) {
             log.warn("WARNING: No GAME_SECRET configured. Score submission will be inaccessible.");
         }
     }
@@ -57,10 +61,10 @@ public class ApiKeyInterceptor implements HandlerInterceptor {
         }
 
         if (path.startsWith("/api/v1/admin")) {
-            return validateHeader(response, request.getHeader("X-Admin-Token"), adminSecret);
+            return validateHeader(response, request.getHeader("X-Admin-Token"), adminSecretBytes);
         }
 
-        if (path.matches("^/api/v1/leaderboards/[^/]+/scores$") && "POST".equalsIgnoreCase(method)) {
+        if ("POST".equalsIgnoreCase(method) && SCORE_SUBMIT_PATH.matcher(path).matches()) {
             return validateApiKey(response, request.getHeader("X-Game-Key"));
         }
 
@@ -73,18 +77,15 @@ public class ApiKeyInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        String dbKey = systemSettingService.getSetting("GAME_SECRET");
-        if (dbKey != null && MessageDigest.isEqual(
-                dbKey.getBytes(StandardCharsets.UTF_8),
-                providedKey.getBytes(StandardCharsets.UTF_8))) {
+        if (gameKeyStore.matches(providedKey.getBytes(StandardCharsets.UTF_8))) {
             return true;
         }
 
-        return validateHeader(response, providedKey, gameSecret);
+        return validateHeader(response, providedKey, gameSecretBytes);
     }
 
-    private boolean validateHeader(HttpServletResponse response, String provided, String expected) throws IOException {
-        if (expected == null || expected.isBlank()) {
+    private boolean validateHeader(HttpServletResponse response, String provided, byte[] expected) throws IOException {
+        if (expected == null) {
             sendJsonError(response, "Server misconfiguration: API secret not set.");
             return false;
         }
@@ -94,9 +95,7 @@ public class ApiKeyInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        if (!MessageDigest.isEqual(
-                expected.getBytes(StandardCharsets.UTF_8),
-                provided.getBytes(StandardCharsets.UTF_8))) {
+        if (!MessageDigest.isEqual(expected, provided.getBytes(StandardCharsets.UTF_8))) {
             sendJsonError(response, "Invalid API Key.");
             return false;
         }
@@ -0,0 +1,54 @@
+package io.github.brainzy.rankdrop.security;
+
+import io.github.brainzy.rankdrop.service.SystemSettingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Holds the database game key as pre-encoded bytes so score submissions authenticate without a query.
+ * Rotations through this instance apply immediately; the periodic reload picks up the rest.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameKeyStore {
+
+    static final String SETTING_KEY = "GAME_SECRET";
+
+    private final SystemSettingService systemSettingService;
+
+    private volatile byte[] gameKey;
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${rankdrop.game-key.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            gameKey = encode(systemSettingService.getSetting(SETTING_KEY));
+        } catch (Exception e) {
+            log.warn("Failed to reload game key, keeping current one. Error: {}", e.getMessage());
+        }
+    }
+
+    public void update(String newGameKey) {
+        gameKey = encode(newGameKey);
+    }
+
+    public boolean hasKey() {
+        return gameKey != null;
+    }
+
+    public boolean matches(byte[] provided) {
+        byte[] expected = gameKey;
+        return expected != null && MessageDigest.isEqual(expected, provided);
+    }
+
+    static byte[] encode(String key) {
+        return key == null || key.isBlank() ? null : key.getBytes(StandardCharsets.UTF_8);
+    }
+}
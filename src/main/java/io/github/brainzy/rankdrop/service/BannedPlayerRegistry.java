@@ -0,0 +1,115 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.entity.Player;
+import io.github.brainzy.rankdrop.repository.PlayerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Banned aliases held in memory so the submit path checks bans without a query. Bans made
+ * through this instance apply after commit; a periodic resync picks up the rest.
+ */
+@Service
+@Slf4j
+public class BannedPlayerRegistry {
+
+    private final PlayerRepository playerRepository;
+    private final Object writeLock = new Object();
+    private volatile Set<String> banned;
+    private long localChanges;
+
+    public BannedPlayerRegistry(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    public boolean isBanned(String playerAlias) {
+        Set<String> snapshot = banned;
+        if (snapshot == null) {
+            // Not loaded yet, answer from the database
+            return playerRepository.findByPlayerAlias(playerAlias)
+                    .map(Player::isBanned)
+                    .orElse(false);
+        }
+        return snapshot.contains(playerAlias);
+    }
+
+    /**
+     * The banned aliases among the given ones, answered with one query at most.
+     */
+    public Set<String> bannedAmong(Collection<String> playerAliases) {
+        Set<String> snapshot = banned;
+        if (snapshot == null) {
+            return new HashSet<>(playerRepository.findBannedAliasesIn(playerAliases));
+        }
+        Set<String> result = new HashSet<>();
+        for (String alias : playerAliases) {
+            if (snapshot.contains(alias)) {
+                result.add(alias);
+            }
+        }
+        return result;
+    }
+
+    public void markBanned(String playerAlias) {
+        TransactionCallbacks.afterCommit(() -> apply(playerAlias, true));
+    }
+
+    public void markUnbanned(String playerAlias) {
+        TransactionCallbacks.afterCommit(() -> apply(playerAlias, false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        resync();
+    }
+
+    @Scheduled(fixedDelayString = "${rankdrop.bans.resync-interval-ms:60000}")
+    public void resync() {
+        long changesBefore;
+        synchronized (writeLock) {
+            changesBefore = localChanges;
+        }
+
+        List<String> aliases;
+        try {
+            aliases = playerRepository.findBannedAliases();
+        } catch (Exception e) {
+            log.warn("Failed to resync banned players, keeping current set. Error: {}", e.getMessage());
+            return;
+        }
+
+        Set<String> loaded = ConcurrentHashMap.newKeySet(Math.max(16, aliases.size() * 2));
+        loaded.addAll(aliases);
+        synchronized (writeLock) {
+            if (localChanges != changesBefore) {
+                log.debug("Ban list changed while resyncing, retrying on next run");
+                return;
+            }
+            banned = loaded;
+        }
+    }
+
+    private void apply(String playerAlias, boolean isBanned) {
+        synchronized (writeLock) {
+            localChanges++;
+            Set<String> current = banned;
+            if (current == null) {
+                return;
+            }
+            if (isBanned) {
+                current.add(playerAlias);
+            } else {
+                current.remove(playerAlias);
+            }
+        }
+    }
+}
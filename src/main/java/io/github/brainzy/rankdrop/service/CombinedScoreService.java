@@ -0,0 +1,94 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.metrics.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Serves the results-screen call: the top list and the player's neighbourhood are fetched at
+ * the same time, so the response takes as long as the slower half instead of both.
+ */
+@Service
+public class CombinedScoreService {
+
+    private final ScoreService scoreService;
+    private final LeaderboardConfigCache leaderboardConfigCache;
+    // Not a bean: an Executor bean would make Spring Boot back off its own task executor
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("combined-", 0).factory());
+    private final Timer topTimer;
+    private final Timer playerTimer;
+
+    public CombinedScoreService(ScoreService scoreService, LeaderboardConfigCache leaderboardConfigCache,
+                                MeterRegistry meterRegistry) {
+        this.scoreService = scoreService;
+        this.leaderboardConfigCache = leaderboardConfigCache;
+        this.topTimer = halfTimer(meterRegistry, "top");
+        this.playerTimer = halfTimer(meterRegistry, "player");
+    }
+
+    public TopAndPlayerScores getTopAndPlayer(String slug, int topLimit, String playerAlias, int surrounding) {
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
+
+        CompletableFuture<List<ScoreEntryResponse>> top = supplyTimed(topTimer,
+                () -> scoreService.getTopScores(slug, topLimit));
+        CompletableFuture<List<ScoreEntryResponse>> player = supplyTimed(playerTimer,
+                () -> scoreService.getPlayerScoreWithSurrounding(leaderboard, playerAlias, surrounding));
+
+        // Completes on the first failure, so a fast 404 on one half does not wait for the other
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        top.whenComplete((result, error) -> failOn(firstFailure, error));
+        player.whenComplete((result, error) -> failOn(firstFailure, error));
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(top, player), firstFailure).join();
+            return new TopAndPlayerScores(top.join(), player.join());
+        } catch (CompletionException e) {
+            top.cancel(true);
+            player.cancel(true);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void failOn(CompletableFuture<Void> firstFailure, Throwable error) {
+        if (error != null) {
+            firstFailure.completeExceptionally(error);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private CompletableFuture<List<ScoreEntryResponse>> supplyTimed(Timer timer, Supplier<List<ScoreEntryResponse>> half) {
+        Supplier<List<ScoreEntryResponse>> timed = () -> timer.record(half);
+        return CompletableFuture.supplyAsync(StatementCounter.propagating(timed), executor);
+    }
+
+    private static Timer halfTimer(MeterRegistry meterRegistry, String half) {
+        return Timer.builder("rankdrop.combined.half")
+                .description("Time spent on each half of the combined top and player lookup")
+                .tag("half", half)
+                .register(meterRegistry);
+    }
+
+    public record TopAndPlayerScores(
+            List<ScoreEntryResponse> topScores,
+            List<ScoreEntryResponse> playerScores
+    ) {
+    }
+}
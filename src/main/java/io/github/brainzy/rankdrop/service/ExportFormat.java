@@ -0,0 +1,6 @@
+package io.github.brainzy.rankdrop.service;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,34 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.entity.Leaderboard;
+import io.github.brainzy.rankdrop.entity.ScoreStrategy;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+
+/**
+ * Immutable snapshot of the leaderboard settings the score paths need, safe to share across threads.
+ */
+public record LeaderboardConfig(
+        Long id,
+        String slug,
+        SortOrder sortOrder,
+        ScoreStrategy scoreStrategy,
+        Double minScore,
+        Double maxScore,
+        long generation
+) {
+    public static LeaderboardConfig from(Leaderboard leaderboard) {
+        return new LeaderboardConfig(
+                leaderboard.getId(),
+                leaderboard.getSlug(),
+                leaderboard.getSortOrder(),
+                leaderboard.getScoreStrategy(),
+                leaderboard.getMinScore(),
+                leaderboard.getMaxScore(),
+                leaderboard.getCurrentGeneration()
+        );
+    }
+
+    public LeaderboardConfig withGeneration(long generation) {
+        return new LeaderboardConfig(id, slug, sortOrder, scoreStrategy, minScore, maxScore, generation);
+    }
+}
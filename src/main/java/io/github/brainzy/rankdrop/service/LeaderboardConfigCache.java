@@ -0,0 +1,109 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.entity.Leaderboard;
+import io.github.brainzy.rankdrop.exception.LeaderboardNotFoundException;
+import io.github.brainzy.rankdrop.repository.LeaderboardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Slug to config lookups for the score paths. Warmed at startup and kept current by
+ * LeaderboardService, so resolving a board costs no query after the first hit. A periodic
+ * refresh picks up resets and edits made by other instances.
+ */
+@Service
+@Slf4j
+public class LeaderboardConfigCache {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final Map<String, LeaderboardConfig> configs = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private long localChanges;
+
+    public LeaderboardConfigCache(LeaderboardRepository leaderboardRepository) {
+        this.leaderboardRepository = leaderboardRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        refresh();
+        log.info("Leaderboard config cache warmed with {} boards", configs.size());
+    }
+
+    @Scheduled(fixedDelayString = "${rankdrop.leaderboard-config.refresh-interval-ms:30000}")
+    public void refresh() {
+        long changesBefore = changeCount();
+        List<Leaderboard> leaderboards;
+        try {
+            leaderboards = leaderboardRepository.findAll();
+        } catch (Exception e) {
+            log.warn("Failed to refresh leaderboard config cache, keeping current entries. Error: {}", e.getMessage());
+            return;
+        }
+
+        Map<String, LeaderboardConfig> fresh = new HashMap<>();
+        for (Leaderboard leaderboard : leaderboards) {
+            fresh.put(leaderboard.getSlug(), LeaderboardConfig.from(leaderboard));
+        }
+        synchronized (writeLock) {
+            // A local write committed while reading may be newer than what we read; retry next run
+            if (localChanges != changesBefore) {
+                return;
+            }
+            configs.keySet().retainAll(fresh.keySet());
+            configs.putAll(fresh);
+        }
+    }
+
+    public LeaderboardConfig get(String slug) {
+        LeaderboardConfig cached = configs.get(slug);
+        if (cached != null) {
+            return cached;
+        }
+
+        long changesBefore = changeCount();
+        LeaderboardConfig loaded = leaderboardRepository.findBySlug(slug)
+                .map(LeaderboardConfig::from)
+                .orElseThrow(() -> new LeaderboardNotFoundException(slug));
+        synchronized (writeLock) {
+            // A delete committed while loading must not be overwritten by the row we read before it
+            if (localChanges == changesBefore) {
+                configs.putIfAbsent(slug, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void put(Leaderboard leaderboard) {
+        LeaderboardConfig config = LeaderboardConfig.from(leaderboard);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                localChanges++;
+                configs.put(config.slug(), config);
+            }
+        });
+    }
+
+    public void evict(String slug) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                localChanges++;
+                configs.remove(slug);
+            }
+        });
+    }
+
+    private long changeCount() {
+        synchronized (writeLock) {
+            return localChanges;
+        }
+    }
+}
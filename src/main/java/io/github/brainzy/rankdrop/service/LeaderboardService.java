@@ -4,15 +4,16 @@ import io.github.brainzy.rankdrop.dto.LeaderboardCreateRequest;
 import io.github.brainzy.rankdrop.dto.LeaderboardResetRequest;
 import io.github.brainzy.rankdrop.dto.ScoreArchiveSummary;
 import io.github.brainzy.rankdrop.entity.Leaderboard;
+import io.github.brainzy.rankdrop.entity.LeaderboardPurge;
 import io.github.brainzy.rankdrop.entity.ResetFrequency;
 import io.github.brainzy.rankdrop.entity.ScoreArchive;
-import io.github.brainzy.rankdrop.entity.ScoreEntry;
 import io.github.brainzy.rankdrop.exception.LeaderboardAlreadyExistsException;
 import io.github.brainzy.rankdrop.exception.LeaderboardNotFoundException;
+import io.github.brainzy.rankdrop.repository.LeaderboardPurgeRepository;
 import io.github.brainzy.rankdrop.repository.LeaderboardRepository;
 import io.github.brainzy.rankdrop.repository.ScoreArchiveRepository;
-import io.github.brainzy.rankdrop.repository.ScoreEntryRepository;
 import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,19 +25,31 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Slf4j
 public class LeaderboardService {
     private final LeaderboardRepository leaderboardRepository;
     private final ScoreArchiveRepository scoreArchiveRepository;
-    private final ScoreEntryRepository scoreEntryRepository;
-
-    public LeaderboardService(LeaderboardRepository leaderboardRepository, ScoreArchiveRepository scoreArchiveRepository, ScoreEntryRepository scoreEntryRepository) {
+    private final RankIndexService rankIndexService;
+    private final ScoreCacheService scoreCacheService;
+    private final LeaderboardConfigCache leaderboardConfigCache;
+    private final LeaderboardPurgeRepository leaderboardPurgeRepository;
+    private final ScorePurgeService scorePurgeService;
+    private final LeaderboardVersions leaderboardVersions;
+    private final TopScoresStreamService topScoresStreamService;
+
+    public LeaderboardService(LeaderboardRepository leaderboardRepository, ScoreArchiveRepository scoreArchiveRepository, RankIndexService rankIndexService, ScoreCacheService scoreCacheService, LeaderboardConfigCache leaderboardConfigCache, LeaderboardPurgeRepository leaderboardPurgeRepository, ScorePurgeService scorePurgeService, LeaderboardVersions leaderboardVersions, TopScoresStreamService topScoresStreamService) {
         this.leaderboardRepository = leaderboardRepository;
         this.scoreArchiveRepository = scoreArchiveRepository;
-        this.scoreEntryRepository = scoreEntryRepository;
+        this.rankIndexService = rankIndexService;
+        this.scoreCacheService = scoreCacheService;
+        this.leaderboardConfigCache = leaderboardConfigCache;
+        this.leaderboardPurgeRepository = leaderboardPurgeRepository;
+        this.scorePurgeService = scorePurgeService;
+        this.leaderboardVersions = leaderboardVersions;
+        this.topScoresStreamService = topScoresStreamService;
     }
 
     public Leaderboard createNewLeaderboard(LeaderboardCreateRequest request) {
@@ -57,7 +70,11 @@ public class LeaderboardService {
 
         calculateNextReset(lb);
 
-        return leaderboardRepository.save(lb);
+        Leaderboard saved = leaderboardRepository.save(lb);
+        rankIndexService.registerEmpty(saved);
+        leaderboardConfigCache.put(saved);
+        leaderboardVersions.bump(saved.getSlug());
+        return saved;
     }
 
     public Leaderboard updateExistingLeaderboard(String slug, String displayName) {
@@ -65,14 +82,22 @@ public class LeaderboardService {
                 .orElseThrow(() -> new LeaderboardNotFoundException(slug));
 
         board.setDisplayName(displayName);
-        return leaderboardRepository.save(board);
+        Leaderboard saved = leaderboardRepository.save(board);
+        leaderboardConfigCache.put(saved);
+        return saved;
     }
 
     public void deleteLeaderboardBySlug(String slug) {
-        Leaderboard board = leaderboardRepository.findBySlug(slug)
+        Leaderboard board = leaderboardRepository.findBySlugForUpdate(slug)
                 .orElseThrow(() -> new LeaderboardNotFoundException(slug));
-        scoreEntryRepository.deleteByLeaderboard(board);
+        leaderboardPurgeRepository.deleteByLeaderboardId(board.getId());
+        scorePurgeService.deleteAll(board.getId(), slug);
         leaderboardRepository.delete(board);
+        rankIndexService.drop(board.getId());
+        scoreCacheService.evictTopScoresCache(slug);
+        leaderboardConfigCache.evict(slug);
+        leaderboardVersions.bump(slug);
+        topScoresStreamService.publish(slug);
     }
 
     public List<Leaderboard> getAllLeaderboards() {
@@ -80,30 +105,44 @@ public class LeaderboardService {
     }
 
     public void resetLeaderboard(String slug, LeaderboardResetRequest request) {
-        Leaderboard board = leaderboardRepository.findBySlug(slug)
+        Leaderboard board = leaderboardRepository.findBySlugForUpdate(slug)
                 .orElseThrow(() -> new LeaderboardNotFoundException(slug));
 
         performReset(board, request.archiveScores(), request.resetLabel());
     }
 
+    /**
+     * Starts a new generation so reads and writes move to an empty board at once. The old
+     * generation's rows are archived or deleted later by {@link ScorePurgeService}. The caller
+     * must hold the board's row lock, or two resets could both move to the same generation.
+     */
     public void performReset(Leaderboard board, boolean archive, String resetLabel) {
-        if (archive) {
-            if (resetLabel == null || resetLabel.isBlank()) {
-                resetLabel = "Auto-Reset " + LocalDateTime.now(ZoneOffset.UTC);
-            }
-            archiveScores(board, resetLabel);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        if (archive && (resetLabel == null || resetLabel.isBlank())) {
+            resetLabel = "Auto-Reset " + now;
         }
 
-        List<ScoreEntry> entries = scoreEntryRepository.findByLeaderboard_Slug(board.getSlug(), Pageable.unpaged()).getContent();
-        if (!entries.isEmpty()) {
-            scoreEntryRepository.deleteAllInBatch(entries);
-        }
+        leaderboardPurgeRepository.save(LeaderboardPurge.builder()
+                .leaderboardId(board.getId())
+                .leaderboardSlug(board.getSlug())
+                .generation(board.getCurrentGeneration())
+                .resetLabel(archive ? resetLabel : null)
+                .requestedAt(now)
+                .build());
+        board.setCurrentGeneration(board.getCurrentGeneration() + 1);
 
         if (board.getResetFrequency() != ResetFrequency.NONE) {
             calculateNextReset(board);
         }
 
         leaderboardRepository.save(board);
+        // After-commit callbacks run in registration order: the new generation must be visible
+        // before the top list is dropped, or a read in between reloads the old generation
+        leaderboardConfigCache.put(board);
+        rankIndexService.registerEmpty(board);
+        scoreCacheService.evictTopScoresCache(board.getSlug());
+        leaderboardVersions.bump(board.getSlug());
+        topScoresStreamService.publish(board.getSlug());
     }
 
     public List<ScoreArchiveSummary> getAllArchives() {
@@ -111,35 +150,11 @@ public class LeaderboardService {
     }
 
     public List<ScoreArchive> getArchivedScoresByLabel(String slug, String resetLabel, int limit) {
-        if (leaderboardRepository.findBySlug(slug).isEmpty()) {
-            throw new LeaderboardNotFoundException(slug);
-        }
+        leaderboardConfigCache.get(slug);
         Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "scoreValue"));
         return scoreArchiveRepository.findByLeaderboardSlugAndResetLabel(slug, resetLabel, pageable);
     }
 
-    private void archiveScores(Leaderboard board, String resetLabel) {
-        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
-        List<ScoreEntry> entries = scoreEntryRepository.findByLeaderboard_Slug(board.getSlug(), Pageable.unpaged()).getContent();
-
-        List<ScoreArchive> archives = entries.stream()
-                .map(entry -> mapToArchive(entry, resetLabel, now))
-                .collect(Collectors.toList());
-        scoreArchiveRepository.saveAll(archives);
-    }
-
-    private ScoreArchive mapToArchive(ScoreEntry entry, String resetLabel, LocalDateTime archivedAt) {
-        return ScoreArchive.builder()
-                .leaderboardSlug(entry.getLeaderboard().getSlug())
-                .playerAlias(entry.getPlayerAlias())
-                .scoreValue(entry.getScoreValue())
-                .submittedAt(entry.getSubmittedAt())
-                .archivedAt(archivedAt)
-                .resetLabel(resetLabel)
-                .metadata(entry.getMetadata())
-                .build();
-    }
-
     private void calculateNextReset(Leaderboard lb) {
         if (lb.getResetFrequency() == ResetFrequency.NONE) {
             lb.setNextResetAt(null);
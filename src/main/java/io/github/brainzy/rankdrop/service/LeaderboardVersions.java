@@ -0,0 +1,79 @@
+package io.github.brainzy.rankdrop.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-leaderboard write counter behind the ETags of the read endpoints. Every write that can
+ * change a board's rankings bumps it after commit, once the cached data reflects the write, so
+ * an unchanged tag means unchanged data and a conditional GET can be answered without a query.
+ * Tags carry a per-process epoch, so a restart or another instance never reuses one.
+ * <p>
+ * Like the rank index, the counter only sees writes made through this instance, so an instance
+ * would keep answering 304 for data changed through another one. ETags are therefore off by
+ * default; enable them with {@code rankdrop.etag.enabled=true} only when a single instance
+ * serves the database.
+ */
+@Service
+public class LeaderboardVersions {
+
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    public LeaderboardVersions(@Value("${rankdrop.etag.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Bumps after commit. Register it after the cache updates of the same write, since callbacks
+     * run in registration order and a tag must never label a body from before the write.
+     */
+    public void bump(String slug) {
+        TransactionCallbacks.afterCommit(() -> bumpCommitted(slug));
+    }
+
+    // For callers already running after commit, where a newly registered callback would never run
+    void bumpCommitted(String slug) {
+        versions.merge(slug, 1L, Long::sum);
+    }
+
+    /**
+     * Strong, quoted ETag for the board's current version, or null when ETags are disabled.
+     * Read it before the data it labels, so a write racing the read can only make the tag older
+     * than the body, never newer.
+     */
+    public String etag(String slug, String variant) {
+        if (!enabled) {
+            return null;
+        }
+        return "\"" + epoch + "-" + versions.getOrDefault(slug, 0L) + "-" + variant + "\"";
+    }
+
+    /**
+     * True when an If-None-Match header lists the tag or is {@code *}. Weak tags compare equal
+     * to their strong form, as RFC 9110 requires for If-None-Match.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (etag == null || ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
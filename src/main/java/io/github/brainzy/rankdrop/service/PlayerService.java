@@ -9,13 +9,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
+    private final BannedPlayerRegistry bannedPlayerRegistry;
 
     @Transactional
     public Player banPlayer(String playerAlias, String reason) {
@@ -26,7 +29,9 @@ public class PlayerService {
         player.setBannedAt(LocalDateTime.now(ZoneOffset.UTC));
         player.setBannedReason(reason);
 
-        return playerRepository.save(player);
+        Player saved = playerRepository.save(player);
+        bannedPlayerRegistry.markBanned(playerAlias);
+        return saved;
     }
 
     @Transactional
@@ -37,14 +42,17 @@ public class PlayerService {
         player.setBannedAt(null);
         player.setBannedReason(null);
 
-        return playerRepository.save(player);
+        Player saved = playerRepository.save(player);
+        bannedPlayerRegistry.markUnbanned(playerAlias);
+        return saved;
     }
 
-    @Transactional(readOnly = true)
     public boolean isPlayerBanned(String playerAlias) {
-        return playerRepository.findByPlayerAlias(playerAlias)
-                .map(Player::isBanned)
-                .orElse(false);
+        return bannedPlayerRegistry.isBanned(playerAlias);
+    }
+
+    public Set<String> findBannedPlayers(Collection<String> playerAliases) {
+        return bannedPlayerRegistry.bannedAmong(playerAliases);
     }
 
     @Transactional(readOnly = true)
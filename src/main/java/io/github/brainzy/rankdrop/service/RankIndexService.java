@@ -0,0 +1,233 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.entity.Leaderboard;
+import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import io.github.brainzy.rankdrop.ranking.LeaderboardRankIndex;
+import io.github.brainzy.rankdrop.ranking.RankWindow;
+import io.github.brainzy.rankdrop.ranking.RankedScore;
+import io.github.brainzy.rankdrop.repository.LeaderboardRepository;
+import io.github.brainzy.rankdrop.repository.ScoreEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps an optional in-memory rank index per leaderboard. When disabled, or while a board is
+ * still loading, every lookup returns empty and callers fall back to the SQL rank queries.
+ * The index only sees writes made through this instance.
+ */
+@Service
+@Slf4j
+public class RankIndexService {
+
+    private final ScoreEntryRepository scoreRepository;
+    private final LeaderboardRepository leaderboardRepository;
+    private final boolean enabled;
+    private final Map<Long, BoardState> boards = new ConcurrentHashMap<>();
+
+    public RankIndexService(ScoreEntryRepository scoreRepository,
+                            LeaderboardRepository leaderboardRepository,
+                            @Value("${rankdrop.rank-index.enabled:false}") boolean enabled) {
+        this.scoreRepository = scoreRepository;
+        this.leaderboardRepository = leaderboardRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            return;
+        }
+        for (Leaderboard leaderboard : leaderboardRepository.findAll()) {
+            load(leaderboard);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rankdrop.rank-index.reload-interval-ms:30000}")
+    public void loadMissing() {
+        if (!enabled) {
+            return;
+        }
+        for (Leaderboard leaderboard : leaderboardRepository.findAll()) {
+            BoardState state = boards.get(leaderboard.getId());
+            if (state == null || state.index == null) {
+                load(leaderboard);
+            }
+        }
+    }
+
+    public OptionalLong countBetterScores(Long leaderboardId, ScoreEntry entry) {
+        BoardState state = enabled ? boards.get(leaderboardId) : null;
+        LeaderboardRankIndex index = state == null ? null : state.index;
+        if (index == null || state.generation != entry.getGeneration()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(index.countBetter(RankedScore.fromEntity(entry)));
+    }
+
+    public Optional<RankWindow> window(Long leaderboardId, Long entryId, int surrounding) {
+        LeaderboardRankIndex index = readyIndex(leaderboardId);
+        return index == null ? Optional.empty() : index.window(entryId, surrounding);
+    }
+
+    public Optional<List<RankedScore>> top(Long leaderboardId, int limit) {
+        LeaderboardRankIndex index = readyIndex(leaderboardId);
+        return index == null ? Optional.empty() : Optional.of(index.top(limit));
+    }
+
+    /**
+     * Adds the committed row to the index of its generation. A row from a newer generation means
+     * the board was reset elsewhere, so the index is dropped and reloaded by {@link #loadMissing()}.
+     */
+    public void recordScore(Long leaderboardId, ScoreEntry entry) {
+        if (!enabled) {
+            return;
+        }
+        RankedScore score = RankedScore.fromEntity(entry);
+        long generation = entry.getGeneration();
+        TransactionCallbacks.afterCommit(() -> {
+            BoardState state = boards.computeIfAbsent(leaderboardId, id -> new BoardState());
+            synchronized (state) {
+                if (state.index != null && generation > state.generation) {
+                    state.index = null;
+                }
+                if (state.index != null && generation == state.generation) {
+                    state.index.upsert(score);
+                }
+                if (state.writesDuringLoad != null) {
+                    state.writesDuringLoad.add(new PendingWrite(generation, index -> index.upsert(score)));
+                }
+            }
+        });
+    }
+
+    public void removeScore(Long leaderboardId, Long entryId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> applyWrite(leaderboardId, index -> index.remove(entryId)));
+    }
+
+    public void registerEmpty(Leaderboard leaderboard) {
+        if (!enabled) {
+            return;
+        }
+        Long leaderboardId = leaderboard.getId();
+        long generation = leaderboard.getCurrentGeneration();
+        LeaderboardRankIndex empty = new LeaderboardRankIndex(leaderboard.getSortOrder());
+        TransactionCallbacks.afterCommit(() -> {
+            BoardState state = boards.computeIfAbsent(leaderboardId, id -> new BoardState());
+            synchronized (state) {
+                state.generation = generation;
+                state.index = empty;
+            }
+        });
+    }
+
+    public void drop(Long leaderboardId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> boards.remove(leaderboardId));
+    }
+
+    /**
+     * Builds the index from the database and installs it. Writes committed while the query runs
+     * may be missing from its snapshot, so they are buffered and replayed onto the new index;
+     * replaying one the query already saw changes nothing. Only a reset during the load, which
+     * makes the loaded generation obsolete, leaves the index to the next {@link #loadMissing()}.
+     */
+    private void load(Leaderboard leaderboard) {
+        BoardState state = boards.computeIfAbsent(leaderboard.getId(), id -> new BoardState());
+        long generation = leaderboard.getCurrentGeneration();
+        synchronized (state) {
+            if (state.writesDuringLoad != null) {
+                return; // Already loading
+            }
+            state.loadingGeneration = generation;
+            state.writesDuringLoad = new ArrayList<>();
+        }
+
+        try {
+            long start = System.nanoTime();
+            List<RankedScore> scores = scoreRepository.findRankedScores(leaderboard.getId(), generation);
+            LeaderboardRankIndex index = LeaderboardRankIndex.of(leaderboard.getSortOrder(), scores);
+
+            int replayed;
+            synchronized (state) {
+                boolean obsolete = state.index != null && state.generation > generation;
+                for (PendingWrite write : state.writesDuringLoad) {
+                    obsolete |= write.generation() > generation;
+                }
+                if (obsolete) {
+                    log.debug("Rank index for '{}' was reset while loading, retrying later", leaderboard.getSlug());
+                    return;
+                }
+                for (PendingWrite write : state.writesDuringLoad) {
+                    if (write.generation() == generation) {
+                        write.write().accept(index);
+                    }
+                }
+                replayed = state.writesDuringLoad.size();
+                state.generation = generation;
+                state.index = index;
+            }
+            log.info("Rank index loaded for '{}': {} entries and {} replayed writes in {} ms",
+                    leaderboard.getSlug(), scores.size(), replayed, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Failed to load rank index for '{}': {}", leaderboard.getSlug(), e.getMessage());
+        } finally {
+            synchronized (state) {
+                state.writesDuringLoad = null;
+            }
+        }
+    }
+
+    private void applyWrite(Long leaderboardId, Consumer<LeaderboardRankIndex> write) {
+        BoardState state = boards.computeIfAbsent(leaderboardId, id -> new BoardState());
+        synchronized (state) {
+            if (state.index != null) {
+                write.accept(state.index);
+            }
+            if (state.writesDuringLoad != null) {
+                // Removals go by id, so they apply to whichever generation is loading
+                state.writesDuringLoad.add(new PendingWrite(state.loadingGeneration, write));
+            }
+        }
+    }
+
+    private LeaderboardRankIndex readyIndex(Long leaderboardId) {
+        if (!enabled) {
+            return null;
+        }
+        BoardState state = boards.get(leaderboardId);
+        return state == null ? null : state.index;
+    }
+
+    private static final class BoardState {
+        private volatile LeaderboardRankIndex index;
+        // Written before index, so a reader that sees the index also sees its generation
+        private long generation;
+        // Non-null while a load runs, guarded by the state's monitor
+        private List<PendingWrite> writesDuringLoad;
+        private long loadingGeneration;
+    }
+
+    private record PendingWrite(long generation, Consumer<LeaderboardRankIndex> write) {
+    }
+}
@@ -1,66 +1,442 @@
 package io.github.brainzy.rankdrop.service;
 
+import io.github.brainzy.rankdrop.diagnostics.TopScoresStageEvent;
 import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
-import io.github.brainzy.rankdrop.entity.Leaderboard;
 import io.github.brainzy.rankdrop.entity.ScoreEntry;
 import io.github.brainzy.rankdrop.entity.SortOrder;
 import io.github.brainzy.rankdrop.exception.LeaderboardNotFoundException;
-import io.github.brainzy.rankdrop.repository.LeaderboardRepository;
+import io.github.brainzy.rankdrop.metrics.ScoreMetrics;
 import io.github.brainzy.rankdrop.repository.ScoreEntryRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ScoreCacheService {
 
-    private final ScoreEntryRepository scoreRepository;
-    private final LeaderboardRepository leaderboardRepository;
-
-    @Transactional(readOnly = true)
-    @Cacheable(value = "topScores", key = "#slug")
-    public List<ScoreEntryResponse> getTop100(String slug) {
-        try {
-            Leaderboard leaderboard = leaderboardRepository.findBySlug(slug)
-                    .orElseThrow(() -> new LeaderboardNotFoundException(slug));
+    static final int TOP_CAPACITY = 100;
+    private static final String CACHE_NAME = "topScores";
+    private static final int LOCK_STRIPES = 64;
 
-            Sort.Direction direction = (leaderboard.getSortOrder() == SortOrder.ASC)
-                    ? Sort.Direction.ASC
-                    : Sort.Direction.DESC;
-
-            Sort sort = Sort.by(direction, "scoreValue")
-                    .and(Sort.by(Sort.Direction.ASC, "submittedAt"));
+    private final ScoreEntryRepository scoreRepository;
+    private final LeaderboardConfigCache leaderboardConfigCache;
+    private final CacheManager cacheManager;
+    private final Object[] boardLocks = createLocks();
+    private final Map<String, CompletableFuture<List<ScoreEntryResponse>>> inFlight = new ConcurrentHashMap<>();
+    // Per lock stripe rather than per slug, so it stays bounded; another slug's eviction only costs a skipped store
+    private final long[] invalidationStamps = new long[LOCK_STRIPES];
+    private final Map<String, List<ScoreEntryResponse>> mergesDuringLoad = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final List<Consumer<String>> reloadListeners = new CopyOnWriteArrayList<>();
+    private final long refreshAfterWriteNanos;
+    private final Counter coalescedWaits;
+    private final Counter staleReads;
+    private final Timer loadTimer;
+    private final ScoreMetrics scoreMetrics;
 
-            Pageable pageable = PageRequest.of(0, 100, sort);
-            List<ScoreEntry> entries = scoreRepository
-                    .findByLeaderboard_Slug(slug, pageable).getContent();
+    public ScoreCacheService(ScoreEntryRepository scoreRepository, LeaderboardConfigCache leaderboardConfigCache,
+                             CacheManager cacheManager, MeterRegistry meterRegistry, ScoreMetrics scoreMetrics,
+                             @Value("${rankdrop.cache.top-scores.refresh-after-write:0s}") Duration refreshAfterWrite) {
+        this.scoreRepository = scoreRepository;
+        this.leaderboardConfigCache = leaderboardConfigCache;
+        this.cacheManager = cacheManager;
+        this.scoreMetrics = scoreMetrics;
+        this.refreshAfterWriteNanos = refreshAfterWrite.toNanos();
+        this.coalescedWaits = Counter.builder("rankdrop.cache.coalesced.waits")
+                .description("Reads that waited on another caller's load instead of querying")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.staleReads = Counter.builder("rankdrop.cache.stale.reads")
+                .description("Reads served from a cached list while a background refresh was running")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("rankdrop.cache.load")
+                .description("Time spent loading a top list from the database")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
 
-            List<ScoreEntryResponse> response = new ArrayList<>();
-            for (int i = 0; i < entries.size(); i++) {
-                response.add(ScoreEntryResponse.fromEntity(entries.get(i), i + 1));
+    /**
+     * Serves the cached top list. On a miss only one caller per slug queries the database,
+     * everyone else waits on that load.
+     */
+    public List<ScoreEntryResponse> getTop100(String slug) {
+        TopScoresStageEvent lookup = TopScoresStageEvent.begin(TopScoresStageEvent.LOOKUP, slug);
+        TopSnapshot cached = topSnapshot(slug);
+        lookup.end(cached != null, cached == null ? 0 : cached.scores().size());
+        scoreMetrics.recordCacheLookup(CACHE_NAME, slug, cached != null);
+        if (cached != null) {
+            if (inFlight.containsKey(slug)) {
+                staleReads.increment();
+            } else if (isDueForRefresh(cached)) {
+                startBackgroundRefresh(slug);
             }
-            return response;
+            return cached.scores();
+        }
+
+        CompletableFuture<List<ScoreEntryResponse>> pending = new CompletableFuture<>();
+        CompletableFuture<List<ScoreEntryResponse>> running = inFlight.putIfAbsent(slug, pending);
+        if (running != null) {
+            coalescedWaits.increment();
+            TopScoresStageEvent wait = TopScoresStageEvent.begin(TopScoresStageEvent.COALESCED_WAIT, slug);
+            List<ScoreEntryResponse> awaited = await(slug, running);
+            wait.end(false, awaited.size());
+            return awaited;
+        }
 
+        try {
+            List<ScoreEntryResponse> loaded = cachedTop(slug);
+            pending.complete(loaded != null ? loaded : loadAndCache(slug));
         } catch (LeaderboardNotFoundException e) {
+            pending.completeExceptionally(e);
             throw e; // Don't swallow legitimate not found errors
         } catch (Exception e) {
             log.warn("DB unavailable for slug '{}', returning empty list. Error: {}", slug, e.getMessage());
-            return List.of();
+            pending.complete(List.of());
+        } finally {
+            finishLoad(slug, pending);
         }
+        return pending.join();
+    }
+
+    /**
+     * The last stored list together with a version that changes whenever the list is replaced,
+     * or null when nothing is cached. Lets callers cache work derived from an exact list. Read
+     * without the writers' lock, so compare the list by identity with the one actually served.
+     */
+    public TopSnapshot topSnapshot(String slug) {
+        return topScoresCache().get(slug, TopSnapshot.class);
+    }
+
+    /**
+     * Called with the slug whenever a load from the database replaces the cached list, which
+     * happens without a write of its own to announce it. Runs outside the board's lock.
+     */
+    public void onTopReloaded(Consumer<String> listener) {
+        reloadListeners.add(listener);
     }
 
-    @CacheEvict(value = "topScores", key = "#slug")
     public void evictTopScoresCache(String slug) {
+        TransactionCallbacks.afterCommit(() -> evict(slug));
+    }
+
+    /**
+     * Reloads the list in the background while readers keep getting the current one. Runs
+     * {@code onRefreshed} once no cached list predates the change: when the reload is stored,
+     * when the old list was dropped instead, or right away when nothing was cached. It runs
+     * after commit already, so it must act directly rather than register more callbacks.
+     */
+    public void refreshTopScoresCache(String slug, Runnable onRefreshed) {
+        TransactionCallbacks.afterCommit(() -> {
+            boolean cached;
+            synchronized (lockFor(slug)) {
+                markInvalidated(slug);
+                cached = cachedTop(slug) != null;
+            }
+            if (!cached) {
+                onRefreshed.run();
+                return;
+            }
+
+            CompletableFuture<List<ScoreEntryResponse>> refresh = startBackgroundRefresh(slug);
+            if (refresh == null) {
+                // A running load may have read before this change; drop the entry so the next reader reloads.
+                // Already after commit here, so evict directly: a callback registered now would never run
+                evict(slug);
+                onRefreshed.run();
+                return;
+            }
+            refresh.whenComplete((top, error) -> {
+                if (error != null) {
+                    evict(slug);
+                }
+                onRefreshed.run();
+            });
+        });
+    }
+
+    /**
+     * Folds a committed submission into the cached top list instead of dropping it. Falls back
+     * to eviction only when the list was full and the entry fell out of it, since the next
+     * entry in line is unknown without a query.
+     */
+    public void applySubmittedScore(String slug, SortOrder sortOrder, ScoreEntryResponse entry) {
+        applySubmittedScores(slug, sortOrder, List.of(entry));
+    }
+
+    /**
+     * Merges several committed scores under one lock and stores the result once, so a batch
+     * replaces the cached list at most once.
+     */
+    public void applySubmittedScores(String slug, SortOrder sortOrder, List<ScoreEntryResponse> entries) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (lockFor(slug)) {
+                if (inFlight.containsKey(slug)) {
+                    // A running load, including a background refresh over a cached list, may have read
+                    // before this commit and would overwrite the merge below; it replays these instead
+                    mergesDuringLoad.computeIfAbsent(slug, key -> new ArrayList<>()).addAll(entries);
+                }
+                TopSnapshot current = topSnapshot(slug);
+                if (current == null) {
+                    return;
+                }
+                Comparator<ScoreEntryResponse> order = responseOrder(sortOrder);
+                List<ScoreEntryResponse> updated = current.scores();
+                for (ScoreEntryResponse entry : entries) {
+                    updated = mergeIntoTop(updated, entry, order, TOP_CAPACITY);
+                    if (updated == null) {
+                        topScoresCache().evict(slug);
+                        return;
+                    }
+                }
+                if (updated != current.scores()) {
+                    // Merges keep the load time: they only cover this instance's writes
+                    putTop(slug, updated, current.loadedAt());
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the list with the entry inserted, moved or dropped in sorted position and ranks
+     * renumbered, the same instance when nothing changed, or null when a reload is required.
+     */
+    static List<ScoreEntryResponse> mergeIntoTop(List<ScoreEntryResponse> current, ScoreEntryResponse entry,
+                                                 Comparator<ScoreEntryResponse> order, int capacity) {
+        int existingIndex = -1;
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i).id().equals(entry.id())) {
+                existingIndex = i;
+                break;
+            }
+        }
+
+        if (existingIndex >= 0 && current.get(existingIndex).revision() >= entry.revision()) {
+            return current; // An earlier commit of the row arriving late, or one already applied
+        }
+
+        List<ScoreEntryResponse> working = new ArrayList<>(current);
+        if (existingIndex >= 0) {
+            working.remove(existingIndex);
+        }
+
+        int position = Collections.binarySearch(working, entry, order);
+        int insertAt = position >= 0 ? position : -position - 1;
+
+        if (current.size() >= capacity && insertAt >= working.size()) {
+            // Lands behind every entry we know of, unseen entries may rank ahead of it
+            return existingIndex >= 0 ? null : current;
+        }
+
+        working.add(insertAt, entry);
+        if (working.size() > capacity) {
+            working.remove(working.size() - 1);
+        }
+
+        List<ScoreEntryResponse> ranked = new ArrayList<>(working.size());
+        for (int i = 0; i < working.size(); i++) {
+            ScoreEntryResponse e = working.get(i);
+            ranked.add(e.rank() == i + 1 ? e : new ScoreEntryResponse(
+                    e.id(), e.playerAlias(), e.scoreValue(), i + 1, e.submittedAt(), e.metadata(), e.revision()));
+        }
+        return ranked;
+    }
+
+    static Comparator<ScoreEntryResponse> responseOrder(SortOrder sortOrder) {
+        Comparator<ScoreEntryResponse> byScore = Comparator.comparingDouble(ScoreEntryResponse::scoreValue);
+        if (sortOrder != SortOrder.ASC) {
+            byScore = byScore.reversed();
+        }
+        return byScore
+                .thenComparing(ScoreEntryResponse::submittedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ScoreEntryResponse::id);
+    }
+
+    // Null when a load is already running
+    private CompletableFuture<List<ScoreEntryResponse>> startBackgroundRefresh(String slug) {
+        CompletableFuture<List<ScoreEntryResponse>> pending = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(slug, pending) != null) {
+            return null;
+        }
+        Thread.ofVirtual().name("top-scores-refresh").start(() -> {
+            try {
+                pending.complete(loadAndCache(slug));
+            } catch (Exception e) {
+                log.warn("Background refresh failed for slug '{}', keeping cached list. Error: {}", slug, e.getMessage());
+                pending.completeExceptionally(e);
+            } finally {
+                finishLoad(slug, pending);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * In-place merges only see this instance's writes, so with refresh-after-write enabled a list
+     * older than the interval is reloaded in the background on its next read.
+     */
+    private boolean isDueForRefresh(TopSnapshot cached) {
+        return refreshAfterWriteNanos > 0 && System.nanoTime() - cached.loadedAt() > refreshAfterWriteNanos;
+    }
+
+    private List<ScoreEntryResponse> loadAndCache(String slug) {
+        long stamp;
+        synchronized (lockFor(slug)) {
+            mergesDuringLoad.remove(slug);
+            stamp = invalidationStamp(slug);
+        }
+
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
+        TopScoresStageEvent load = TopScoresStageEvent.begin(TopScoresStageEvent.LOAD, slug);
+        List<ScoreEntryResponse> loaded = loadTimer.record(() -> loadTop100(leaderboard));
+        load.end(false, loaded.size());
+
+        List<ScoreEntryResponse> result;
+        boolean stored;
+        synchronized (lockFor(slug)) {
+            // Submissions committed while loading are replayed; merging is idempotent if the query already saw them
+            List<ScoreEntryResponse> merges = mergesDuringLoad.remove(slug);
+            result = loaded;
+            if (merges != null) {
+                Comparator<ScoreEntryResponse> order = responseOrder(leaderboard.sortOrder());
+                for (int i = 0; i < merges.size() && result != null; i++) {
+                    result = mergeIntoTop(result, merges.get(i), order, TOP_CAPACITY);
+                }
+            }
+            if (result == null) {
+                // A replayed entry fell out of the list, so any list still cached is outdated too
+                topScoresCache().evict(slug);
+                return loaded;
+            }
+            stored = invalidationStamp(slug) == stamp;
+            if (stored) {
+                putTop(slug, result, System.nanoTime());
+            }
+        }
+        if (stored) {
+            reloadListeners.forEach(listener -> listener.accept(slug));
+        }
+        return result;
+    }
+
+    // Merges queued past the load's replay, or for a load that failed, are already in whatever list is cached
+    private void finishLoad(String slug, CompletableFuture<List<ScoreEntryResponse>> pending) {
+        synchronized (lockFor(slug)) {
+            mergesDuringLoad.remove(slug);
+            inFlight.remove(slug, pending);
+        }
+    }
+
+    private List<ScoreEntryResponse> loadTop100(LeaderboardConfig leaderboard) {
+        Sort.Direction direction = (leaderboard.sortOrder() == SortOrder.ASC)
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+
+        Sort sort = Sort.by(direction, "scoreValue")
+                .and(Sort.by(Sort.Direction.ASC, "submittedAt"))
+                .and(Sort.by(Sort.Direction.ASC, "id"));
+
+        Pageable pageable = PageRequest.of(0, TOP_CAPACITY, sort);
+        List<ScoreEntry> entries = scoreRepository.findPageByLeaderboard_IdAndGeneration(leaderboard.id(), leaderboard.generation(), pageable);
+
+        List<ScoreEntryResponse> response = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            response.add(ScoreEntryResponse.fromEntity(entries.get(i), i + 1));
+        }
+        return response;
+    }
+
+    private void evict(String slug) {
+        synchronized (lockFor(slug)) {
+            markInvalidated(slug);
+            topScoresCache().evict(slug);
+        }
+    }
+
+    // Callers hold the slug's lock
+    private void putTop(String slug, List<ScoreEntryResponse> scores, long loadedAt) {
+        topScoresCache().put(slug, new TopSnapshot(scores, versionSequence.incrementAndGet(), loadedAt));
+    }
+
+    private List<ScoreEntryResponse> cachedTop(String slug) {
+        TopSnapshot cached = topSnapshot(slug);
+        return cached == null ? null : cached.scores();
+    }
+
+    private Cache topScoresCache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CACHE_NAME + "' is not configured");
+        }
+        return cache;
+    }
+
+    // Callers hold the slug's lock, which guards its stripe's stamp
+    private long invalidationStamp(String slug) {
+        return invalidationStamps[stripe(slug)];
+    }
+
+    private void markInvalidated(String slug) {
+        invalidationStamps[stripe(slug)]++;
+    }
+
+    // Waiters get the loading caller's fallback, so one failed load doesn't fail every concurrent read
+    private List<ScoreEntryResponse> await(String slug, CompletableFuture<List<ScoreEntryResponse>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof LeaderboardNotFoundException notFound) {
+                throw notFound;
+            }
+            log.warn("Awaited load failed for slug '{}', serving the cached or empty list. Error: {}",
+                    slug, e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+            List<ScoreEntryResponse> cached = cachedTop(slug);
+            return cached != null ? cached : List.of();
+        }
+    }
+
+    private Object lockFor(String slug) {
+        return boardLocks[stripe(slug)];
+    }
+
+    private static int stripe(String slug) {
+        return Math.floorMod(slug.hashCode(), LOCK_STRIPES);
+    }
+
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    /**
+     * The cached value itself, so the version and load time are released with the list when
+     * the cache evicts it by size or expiry.
+     */
+    public record TopSnapshot(List<ScoreEntryResponse> scores, long version, long loadedAt) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.exception.InvalidCursorException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position of the last row of an export page: its sort key plus the rank it was given, so the
+ * next page seeks straight past it and keeps numbering from there.
+ */
+record ScoreCursor(double scoreValue, LocalDateTime submittedAt, long id, long rank) {
+
+    private static final int ENCODED_BYTES = Double.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    static ScoreCursor after(ScoreEntryResponse last) {
+        return new ScoreCursor(last.scoreValue(), last.submittedAt(), last.id(), last.rank());
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putDouble(scoreValue)
+                .putLong(submittedAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(submittedAt.getNano())
+                .putLong(id)
+                .putLong(rank);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static ScoreCursor decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new InvalidCursorException(cursor);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            double scoreValue = buffer.getDouble();
+            LocalDateTime submittedAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new ScoreCursor(scoreValue, submittedAt, buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
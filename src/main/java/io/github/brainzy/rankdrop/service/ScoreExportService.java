@@ -0,0 +1,144 @@
+package io.github.brainzy.rankdrop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.metrics.ScoreMetrics;
+import io.github.brainzy.rankdrop.repository.ScoreJdbcRepository;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a whole leaderboard to a stream row by row, so memory use does not grow with board size.
+ */
+@Service
+@Slf4j
+public class ScoreExportService {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final ScoreJdbcRepository scoreJdbcRepository;
+    private final LeaderboardConfigCache leaderboardConfigCache;
+    private final ObjectMapper objectMapper;
+    private final ScoreMetrics scoreMetrics;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ScoreExportService(ScoreJdbcRepository scoreJdbcRepository, LeaderboardConfigCache leaderboardConfigCache,
+                              ObjectMapper objectMapper, ScoreMetrics scoreMetrics,
+                              PlatformTransactionManager transactionManager) {
+        this.scoreJdbcRepository = scoreJdbcRepository;
+        this.leaderboardConfigCache = leaderboardConfigCache;
+        this.objectMapper = objectMapper;
+        this.scoreMetrics = scoreMetrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(String slug, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
+        long start = System.nanoTime();
+        Timer.Sample sample = scoreMetrics.start();
+        boolean success = false;
+
+        long rows;
+        try {
+            OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_BYTES) : out;
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(leaderboard, target);
+                case CSV -> writeCsv(leaderboard, target);
+            };
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            out.flush();
+            success = true;
+        } finally {
+            scoreMetrics.stop(sample, ScoreMetrics.Operation.EXPORT, slug, ScoreMetrics.NO_STRATEGY, success);
+        }
+
+        log.info("Exported {} scores of '{}' as {} in {} ms", rows, slug, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long writeNdjson(LeaderboardConfig leaderboard, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = stream(leaderboard, score -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("rank", score.rank());
+                generator.writeNumberField("id", score.id());
+                generator.writeStringField("playerAlias", score.playerAlias());
+                generator.writeNumberField("scoreValue", score.scoreValue());
+                generator.writeStringField("submittedAt", score.submittedAt() == null ? null : score.submittedAt().toString());
+                generator.writeStringField("metadata", score.metadata());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.close();
+        return rows;
+    }
+
+    private long writeCsv(LeaderboardConfig leaderboard, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("rank,id,player_alias,score_value,submitted_at,metadata\n");
+        long rows = stream(leaderboard, score -> {
+            try {
+                writer.write(Long.toString(score.rank()));
+                writer.write(',');
+                writer.write(Long.toString(score.id()));
+                writer.write(',');
+                writer.write(csvField(score.playerAlias()));
+                writer.write(',');
+                writer.write(Double.toString(score.scoreValue()));
+                writer.write(',');
+                writer.write(score.submittedAt() == null ? "" : score.submittedAt().toString());
+                writer.write(',');
+                writer.write(csvField(score.metadata()));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private long stream(LeaderboardConfig leaderboard, Consumer<ScoreEntryResponse> writer) throws IOException {
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    scoreJdbcRepository.streamRanked(leaderboard.id(), leaderboard.generation(), leaderboard.sortOrder(), score -> {
+                        writer.accept(score);
+                        rows[0]++;
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Usually the client went away; the transaction is already rolled back
+        }
+        return rows[0];
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return needsQuoting ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.entity.LeaderboardPurge;
+import io.github.brainzy.rankdrop.repository.LeaderboardPurgeRepository;
+import io.github.brainzy.rankdrop.repository.ScoreJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes the rows of old leaderboard generations after a reset, moving them into the archive
+ * first when the reset asked for it. Each id-range chunk commits on its own so row locks stay
+ * short and an interrupted purge simply resumes on the next run. Purges only run inside the
+ * configured off-peak window (UTC) and pause between chunks; one still running when the window
+ * closes stops after its current chunk and continues in the next window.
+ */
+@Service
+@Slf4j
+public class ScorePurgeService {
+    private static final int CHUNK_IDS = 5_000;
+    private static final int LOG_EVERY_CHUNKS = 20;
+
+    private final LeaderboardPurgeRepository purgeRepository;
+    private final ScoreJdbcRepository scoreJdbcRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long chunkPauseMs;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+
+    public ScorePurgeService(LeaderboardPurgeRepository purgeRepository,
+                             ScoreJdbcRepository scoreJdbcRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${rankdrop.purge.chunk-pause-ms:50}") long chunkPauseMs,
+                             @Value("${rankdrop.purge.window:02:00-06:00}") String window) {
+        this.purgeRepository = purgeRepository;
+        this.scoreJdbcRepository = scoreJdbcRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.chunkPauseMs = chunkPauseMs;
+        // "HH:mm-HH:mm" in UTC and may wrap past midnight; blank allows purging at any time
+        if (window == null || window.isBlank()) {
+            this.windowStart = null;
+            this.windowEnd = null;
+        } else {
+            String[] bounds = window.split("-");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("rankdrop.purge.window must look like 02:00-06:00, got '" + window + "'");
+            }
+            this.windowStart = LocalTime.parse(bounds[0].trim());
+            this.windowEnd = LocalTime.parse(bounds[1].trim());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rankdrop.purge.interval-ms:60000}")
+    public void purgePending() {
+        if (!inWindow()) {
+            return;
+        }
+        for (LeaderboardPurge purge : purgeRepository.findAllByOrderByIdAsc()) {
+            try {
+                OffsetDateTime archivedAt = purge.getRequestedAt().atOffset(ZoneOffset.UTC);
+                if (!purge(purge.getLeaderboardId(), purge.getLeaderboardSlug(), purge.getGeneration(),
+                        purge.getResetLabel(), archivedAt)) {
+                    return;
+                }
+                purgeRepository.deleteById(purge.getId());
+            } catch (Exception e) {
+                log.warn("Failed to purge generation {} of '{}', retrying later: {}",
+                        purge.getGeneration(), purge.getLeaderboardSlug(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Deletes every generation of the board in id-range chunks. Runs inside the caller's
+     * transaction, since the board row cannot go while scores still reference it and a failed
+     * board delete must roll the scores back with it.
+     */
+    public void deleteAll(Long leaderboardId, String leaderboardSlug) {
+        Optional<ScoreJdbcRepository.IdRange> found = scoreJdbcRepository.findIdRange(leaderboardId);
+        if (found.isEmpty()) {
+            return;
+        }
+        ScoreJdbcRepository.IdRange range = found.get();
+        long rows = 0;
+        for (long fromId = range.minId(); fromId <= range.maxId(); fromId += CHUNK_IDS) {
+            rows += scoreJdbcRepository.deleteRange(leaderboardId, fromId, fromId + CHUNK_IDS);
+        }
+        log.info("Deleted {} rows of '{}'", rows, leaderboardSlug);
+    }
+
+    // False when the window closed first; the purge stays queued and resumes in the next window
+    private boolean purge(Long leaderboardId, String slug, long generation, String archiveLabel, OffsetDateTime archivedAt) {
+        boolean archive = archiveLabel != null;
+        Optional<ScoreJdbcRepository.IdRange> found = scoreJdbcRepository.findIdRange(leaderboardId, generation);
+        if (found.isEmpty()) {
+            return true;
+        }
+        ScoreJdbcRepository.IdRange range = found.get();
+
+        long start = System.nanoTime();
+        long totalChunks = (range.maxId() - range.minId()) / CHUNK_IDS + 1;
+        long chunk = 0;
+        long rows = 0;
+
+        for (long fromId = range.minId(); fromId <= range.maxId(); fromId += CHUNK_IDS) {
+            long chunkFrom = fromId;
+            long chunkTo = fromId + CHUNK_IDS;
+            Integer moved = chunkTransaction.execute(status -> archive
+                    ? scoreJdbcRepository.archiveRange(leaderboardId, generation, slug, chunkFrom, chunkTo, archiveLabel, archivedAt)
+                    : scoreJdbcRepository.deleteRange(leaderboardId, generation, chunkFrom, chunkTo));
+            rows += moved == null ? 0 : moved;
+
+            if (++chunk % LOG_EVERY_CHUNKS == 0) {
+                log.info("Purging '{}': chunk {}/{}, {} rows so far", slug, chunk, totalChunks, rows);
+            }
+            if (!inWindow()) {
+                log.info("Purge window closed, pausing purge of '{}' after {} rows", slug, rows);
+                return false;
+            }
+            pauseBetweenChunks();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("rankdrop.purge.duration")
+                .description("Time spent purging a leaderboard generation")
+                .tag("archived", Boolean.toString(archive))
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Purged {} rows from '{}'{} in {} ms", rows, slug,
+                archive ? " into archive '" + archiveLabel + "'" : "", elapsed / 1_000_000);
+        return true;
+    }
+
+    private boolean inWindow() {
+        if (windowStart == null) {
+            return true;
+        }
+        LocalTime now = LocalTime.now(ZoneOffset.UTC);
+        if (windowStart.isBefore(windowEnd)) {
+            return !now.isBefore(windowStart) && now.isBefore(windowEnd);
+        }
+        return !now.isBefore(windowStart) || now.isBefore(windowEnd);
+    }
+
+    private void pauseBetweenChunks() {
+        if (chunkPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Purge interrupted", e);
+        }
+    }
+}
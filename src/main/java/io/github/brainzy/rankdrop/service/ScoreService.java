@@ -1,16 +1,25 @@
 package io.github.brainzy.rankdrop.service;
 
+import io.github.brainzy.rankdrop.dto.ScoreBatchEntryResponse;
+import io.github.brainzy.rankdrop.dto.ScoreBatchSubmitResponse;
+import io.github.brainzy.rankdrop.dto.ScoreCursorPageResponse;
 import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.dto.ScoreSubmissionRequest;
+import io.github.brainzy.rankdrop.diagnostics.SubmitStageEvent;
 import io.github.brainzy.rankdrop.dto.ScoreSubmitResponse;
-import io.github.brainzy.rankdrop.entity.Leaderboard;
 import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import io.github.brainzy.rankdrop.entity.ScoreStrategy;
 import io.github.brainzy.rankdrop.entity.SortOrder;
 import io.github.brainzy.rankdrop.exception.LeaderboardNotFoundException;
 import io.github.brainzy.rankdrop.exception.PlayerBannedException;
 import io.github.brainzy.rankdrop.exception.PlayerNotFoundException;
-import io.github.brainzy.rankdrop.repository.LeaderboardRepository;
+import io.github.brainzy.rankdrop.metrics.ScoreMetrics;
+import io.github.brainzy.rankdrop.ranking.RankWindow;
+import io.github.brainzy.rankdrop.ranking.RankedScore;
 import io.github.brainzy.rankdrop.repository.ScoreEntryRepository;
+import io.github.brainzy.rankdrop.repository.ScoreJdbcRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,11 +28,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,170 +45,269 @@ import java.util.stream.Collectors;
 public class ScoreService {
 
     private final ScoreEntryRepository scoreRepository;
-    private final LeaderboardRepository leaderboardRepository;
+    private final ScoreJdbcRepository scoreJdbcRepository;
     private final ScoreCacheService scoreCacheService;
     private final PlayerService playerService;
     private final WebhookService webhookService;
+    private final RankIndexService rankIndexService;
+    private final LeaderboardConfigCache leaderboardConfigCache;
+    private final LeaderboardVersions leaderboardVersions;
+    private final TopScoresStreamService topScoresStreamService;
+    private final ScoreMetrics scoreMetrics;
 
     @Transactional
     public ScoreSubmitResponse submitScore(String slug, String playerName, double value, String metadata) {
-        Leaderboard leaderboard = leaderboardRepository.findBySlug(slug)
-                .orElseThrow(() -> new LeaderboardNotFoundException(slug));
+        SubmitStageEvent configStage = SubmitStageEvent.begin(SubmitStageEvent.CONFIG, slug, null);
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
+        configStage.end(leaderboard.scoreStrategy().name());
+        return scoreMetrics.time(ScoreMetrics.Operation.SUBMIT, slug, leaderboard.scoreStrategy().name(),
+                () -> submitScore(leaderboard, slug, playerName, value, metadata));
+    }
+
+    private ScoreSubmitResponse submitScore(LeaderboardConfig leaderboard, String slug, String playerName, double value, String metadata) {
+        String strategy = leaderboard.scoreStrategy().name();
 
+        SubmitStageEvent stage = SubmitStageEvent.begin(SubmitStageEvent.BAN_CHECK, slug, strategy);
         if (playerService.isPlayerBanned(playerName)) {
             throw new PlayerBannedException(playerName);
         }
+        stage.end();
 
         validateScore(value, leaderboard);
 
-        ScoreEntry savedEntry = switch (leaderboard.getScoreStrategy()) {
-            case CUMULATIVE -> handleCumulativeScoreSubmissionEntry(leaderboard, playerName, value, metadata);
-            case BEST_ONLY -> handleSingleScoreSubmissionEntry(leaderboard, playerName, value, metadata);
-            case MULTIPLE_ENTRIES -> createAndSaveScoreEntry(leaderboard, playerName, value, metadata);
+        stage = SubmitStageEvent.begin(SubmitStageEvent.WRITE, slug, strategy);
+        // Truncated to the column's precision, so the returned row shows whether this write set its timestamp
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        ScoreEntry savedEntry = switch (leaderboard.scoreStrategy()) {
+            case CUMULATIVE -> upsertCumulativeScoreEntry(leaderboard, playerName, value, now, metadata);
+            case BEST_ONLY -> upsertBestScoreEntry(leaderboard, playerName, value, now, metadata);
+            case MULTIPLE_ENTRIES -> insertScoreEntry(leaderboard, playerName, value, now, metadata);
         };
-
-        long betterScoresCount;
-        if (leaderboard.getSortOrder() == SortOrder.ASC) {
-            betterScoresCount = scoreRepository.countBetterScoresAsc(leaderboard.getId(), savedEntry.getScoreValue(), savedEntry.getSubmittedAt());
-        } else {
-            betterScoresCount = scoreRepository.countBetterScoresDesc(leaderboard.getId(), savedEntry.getScoreValue(), savedEntry.getSubmittedAt());
+        if (savedEntry == null) {
+            throw new LeaderboardNotFoundException(slug);
         }
-
-        if (betterScoresCount < 100) {
-            scoreCacheService.evictTopScoresCache(slug);
-        }
-
+        LeaderboardConfig written = writtenGeneration(leaderboard, savedEntry.getGeneration());
+        // A best-only submit that did not improve keeps the row's score and timestamp
+        stage.end(savedEntry.getSubmittedAt().equals(now) ? 1 : 0, 0);
+
+        stage = SubmitStageEvent.begin(SubmitStageEvent.RANK, slug, strategy);
+        long betterScoresCount = rankIndexService.countBetterScores(leaderboard.id(), savedEntry)
+                .orElseGet(() -> countBetterScores(written, savedEntry));
+        stage.end(0, betterScoresCount + 1);
+
+        // The in-memory updates run after commit, so callbacks around them open and close the stage
+        SubmitStageEvent[] cacheStage = new SubmitStageEvent[1];
+        TransactionCallbacks.afterCommit(() -> cacheStage[0] = SubmitStageEvent.begin(SubmitStageEvent.CACHE, slug, strategy));
+        rankIndexService.recordScore(leaderboard.id(), savedEntry);
+        scoreCacheService.applySubmittedScore(slug, leaderboard.sortOrder(),
+                ScoreEntryResponse.fromEntity(savedEntry, betterScoresCount + 1));
+        leaderboardVersions.bump(slug);
+        topScoresStreamService.publish(slug);
+        TransactionCallbacks.afterCommit(() -> cacheStage[0].end(0, betterScoresCount + 1));
+
+        stage = SubmitStageEvent.begin(SubmitStageEvent.WEBHOOK, slug, strategy);
         webhookService.fireTopScoreWebhookIfEligible(slug, playerName, value, (int) betterScoresCount + 1);
+        stage.end(0, betterScoresCount + 1);
 
         return ScoreSubmitResponse.fromEntity(savedEntry, betterScoresCount + 1);
     }
 
-    private void validateScore(double value, Leaderboard leaderboard) {
-        if (leaderboard.getMinScore() != null && value < leaderboard.getMinScore()) {
-            throw new IllegalArgumentException("Score is below the minimum allowed value of " + leaderboard.getMinScore());
+    /**
+     * Stores a batch of scores in one transaction: one ban lookup, one write statement, one rank
+     * query, and a single cache, stream and webhook step. Banned players and out-of-range scores
+     * are rejected individually without failing the rest. Under BEST_ONLY and CUMULATIVE,
+     * repeated aliases are folded into one write and all report the player's stored score.
+     */
+    @Transactional
+    public ScoreBatchSubmitResponse submitScores(String slug, List<ScoreSubmissionRequest> submissions) {
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
+        return scoreMetrics.time(ScoreMetrics.Operation.BATCH_SUBMIT, slug, leaderboard.scoreStrategy().name(),
+                () -> submitScores(leaderboard, slug, submissions));
+    }
+
+    private ScoreBatchSubmitResponse submitScores(LeaderboardConfig leaderboard, String slug, List<ScoreSubmissionRequest> submissions) {
+        Set<String> banned = playerService.findBannedPlayers(
+                submissions.stream().map(ScoreSubmissionRequest::playerAlias).collect(Collectors.toSet()));
+
+        ScoreBatchEntryResponse[] results = new ScoreBatchEntryResponse[submissions.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            ScoreSubmissionRequest submission = submissions.get(i);
+            String violation = banned.contains(submission.playerAlias())
+                    ? "Player is banned"
+                    : scoreViolation(submission.scoreValue(), leaderboard);
+            if (violation != null) {
+                results[i] = ScoreBatchEntryResponse.rejected(submission.playerAlias(), violation);
+            } else {
+                acceptedIndexes.add(i);
+            }
         }
-        if (leaderboard.getMaxScore() != null && value > leaderboard.getMaxScore()) {
-            throw new IllegalArgumentException("Score exceeds the maximum allowed value of " + leaderboard.getMaxScore());
+        if (acceptedIndexes.isEmpty()) {
+            return new ScoreBatchSubmitResponse(List.of(results));
         }
-    }
 
-    private ScoreEntry handleCumulativeScoreSubmissionEntry(Leaderboard leaderboard, String playerName, double value, String metadata) {
-        int rowsUpdated = scoreRepository.incrementScore(
-                leaderboard.getId(), playerName, value, LocalDateTime.now(ZoneOffset.UTC));
+        Map<String, ScoreSubmissionRequest> writes = new LinkedHashMap<>();
+        List<ScoreSubmissionRequest> multipleEntries = new ArrayList<>();
+        for (int index : acceptedIndexes) {
+            ScoreSubmissionRequest submission = submissions.get(index);
+            switch (leaderboard.scoreStrategy()) {
+                case MULTIPLE_ENTRIES -> multipleEntries.add(submission);
+                case CUMULATIVE -> writes.merge(submission.playerAlias(), submission, (previous, next) ->
+                        new ScoreSubmissionRequest(next.playerAlias(), previous.scoreValue() + next.scoreValue(), next.metadata()));
+                case BEST_ONLY -> writes.merge(submission.playerAlias(), submission, (previous, next) ->
+                        isBetter(next.scoreValue(), previous.scoreValue(), leaderboard.sortOrder()) ? next : previous);
+            }
+        }
+        List<ScoreSubmissionRequest> toWrite = leaderboard.scoreStrategy() == ScoreStrategy.MULTIPLE_ENTRIES
+                ? multipleEntries
+                : new ArrayList<>(writes.values());
+
+        List<ScoreEntry> saved = scoreJdbcRepository.upsertBatch(leaderboard.id(),
+                leaderboard.scoreStrategy(), leaderboard.sortOrder(),
+                toWrite.stream().map(ScoreSubmissionRequest::playerAlias).toArray(String[]::new),
+                toWrite.stream().mapToDouble(ScoreSubmissionRequest::scoreValue).toArray(),
+                toWrite.stream().map(ScoreSubmissionRequest::metadata).toArray(String[]::new),
+                OffsetDateTime.now(ZoneOffset.UTC));
+        if (saved.isEmpty()) {
+            throw new LeaderboardNotFoundException(slug);
+        }
+        long generation = writtenGeneration(leaderboard, saved.getFirst().getGeneration()).generation();
+
+        // Counted in SQL even with the rank index: it does not see this batch until commit
+        Map<Long, Long> better = scoreJdbcRepository.countBetterScores(leaderboard.id(), generation,
+                leaderboard.sortOrder(), saved.stream().mapToLong(ScoreEntry::getId).toArray());
+
+        Map<String, ScoreEntry> savedByAlias = new HashMap<>();
+        List<ScoreEntryResponse> cacheEntries = new ArrayList<>(saved.size());
+        List<WebhookService.TopScoreCandidate> webhookCandidates = new ArrayList<>(acceptedIndexes.size());
+        for (ScoreEntry entry : saved) {
+            long rank = better.getOrDefault(entry.getId(), 0L) + 1;
+            savedByAlias.put(entry.getPlayerAlias(), entry);
+            rankIndexService.recordScore(leaderboard.id(), entry);
+            cacheEntries.add(ScoreEntryResponse.fromEntity(entry, rank));
+        }
 
-        if (rowsUpdated == 0) {
-            return createAndSaveScoreEntry(leaderboard, playerName, value, metadata);
+        for (int i = 0; i < acceptedIndexes.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            ScoreEntry entry = leaderboard.scoreStrategy() == ScoreStrategy.MULTIPLE_ENTRIES
+                    ? saved.get(i)
+                    : savedByAlias.get(submissions.get(index).playerAlias());
+            long rank = better.getOrDefault(entry.getId(), 0L) + 1;
+            results[index] = ScoreBatchEntryResponse.accepted(entry.getPlayerAlias(), rank, entry.getScoreValue());
+            // The submitted value, as submitScore sends, not the stored best or total
+            webhookCandidates.add(new WebhookService.TopScoreCandidate(
+                    entry.getPlayerAlias(), submissions.get(index).scoreValue(), (int) rank));
         }
 
-        return scoreRepository.findByLeaderboardIdAndPlayerAlias(
-                        leaderboard.getId(), playerName)
-                .orElseThrow(() -> new IllegalStateException("Score not found after increment for player: " + playerName));
-    }
+        scoreCacheService.applySubmittedScores(slug, leaderboard.sortOrder(), cacheEntries);
+        leaderboardVersions.bump(slug);
+        topScoresStreamService.publish(slug);
+        webhookService.fireTopScoreWebhooksIfEligible(slug, webhookCandidates);
 
-    private ScoreEntry handleSingleScoreSubmissionEntry(Leaderboard leaderboard, String playerName, double value, String metadata) {
-        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return new ScoreBatchSubmitResponse(List.of(results));
+    }
 
-        int rowsUpdated = leaderboard.getSortOrder() == SortOrder.ASC
-                ? scoreRepository.updateIfLowerScore(leaderboard.getId(), playerName, value, now)
-                : scoreRepository.updateIfHigherScore(leaderboard.getId(), playerName, value, now);
+    private void validateScore(double value, LeaderboardConfig leaderboard) {
+        String violation = scoreViolation(value, leaderboard);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+    }
 
-        if (rowsUpdated == 0) {
-            Optional<ScoreEntry> existing = scoreRepository.findByLeaderboardIdAndPlayerAlias(
-                    leaderboard.getId(), playerName);
+    private static String scoreViolation(double value, LeaderboardConfig leaderboard) {
+        if (leaderboard.minScore() != null && value < leaderboard.minScore()) {
+            return "Score is below the minimum allowed value of " + leaderboard.minScore();
+        }
+        if (leaderboard.maxScore() != null && value > leaderboard.maxScore()) {
+            return "Score exceeds the maximum allowed value of " + leaderboard.maxScore();
+        }
+        return null;
+    }
 
-            return existing.orElseGet(() -> createAndSaveScoreEntry(leaderboard, playerName, value, metadata));
+    private static boolean isBetter(double candidate, double current, SortOrder sortOrder) {
+        return sortOrder == SortOrder.ASC ? candidate < current : candidate > current;
+    }
 
+    /**
+     * The write resolves the generation itself, so it lands in the current one even when the
+     * cached config predates a reset, e.g. one made by another instance. In that case the cached
+     * config and top list are stale too and are dropped after commit.
+     */
+    private LeaderboardConfig writtenGeneration(LeaderboardConfig leaderboard, long generation) {
+        if (generation == leaderboard.generation()) {
+            return leaderboard;
         }
+        leaderboardConfigCache.evict(leaderboard.slug());
+        scoreCacheService.evictTopScoresCache(leaderboard.slug());
+        return leaderboard.withGeneration(generation);
+    }
 
-        return scoreRepository.findByLeaderboardIdAndPlayerAlias(
-                        leaderboard.getId(), playerName)
-                .orElseThrow();
+    // The write methods return null when the board was deleted concurrently
+    private ScoreEntry upsertCumulativeScoreEntry(LeaderboardConfig leaderboard, String playerName, double value, LocalDateTime now, String metadata) {
+        return scoreRepository.upsertCumulativeScore(leaderboard.id(), playerName, value, now, metadata);
     }
 
-    private ScoreEntry createAndSaveScoreEntry(Leaderboard leaderboard, String playerName, double value, String metadata) {
-        ScoreEntry entry = ScoreEntry.builder()
-                .playerAlias(playerName)
-                .scoreValue(value)
-                .leaderboard(leaderboard)
-                .metadata(metadata)
-                .build();
+    private ScoreEntry upsertBestScoreEntry(LeaderboardConfig leaderboard, String playerName, double value, LocalDateTime now, String metadata) {
+        ScoreEntry improved = leaderboard.sortOrder() == SortOrder.ASC
+                ? scoreRepository.upsertIfLowerScore(leaderboard.id(), playerName, value, now, metadata)
+                : scoreRepository.upsertIfHigherScore(leaderboard.id(), playerName, value, now, metadata);
+        // Not an improvement: the row was left alone, so read the stored best instead
+        return improved != null ? improved : scoreRepository.findCurrentPlayerEntry(leaderboard.id(), playerName);
+    }
 
-        return scoreRepository.save(entry);
+    private ScoreEntry insertScoreEntry(LeaderboardConfig leaderboard, String playerName, double value, LocalDateTime now, String metadata) {
+        return scoreRepository.insertScore(leaderboard.id(), playerName, value, now, metadata);
     }
 
     public List<ScoreEntryResponse> getTopScores(String slug, int limit) {
-        List<ScoreEntryResponse> top100 = scoreCacheService.getTop100(slug);
-        return top100.stream().limit(limit).collect(Collectors.toList());
+        return scoreMetrics.time(ScoreMetrics.Operation.TOP, slug, ScoreMetrics.NO_STRATEGY,
+                () -> scoreCacheService.getTop100(slug).stream().limit(limit).collect(Collectors.toList()));
     }
 
     public List<ScoreEntryResponse> getPlayerScoreWithSurrounding(String slug, String playerAlias, int surrounding) {
-        Leaderboard leaderboard = leaderboardRepository.findBySlug(slug)
-                .orElseThrow(() -> new LeaderboardNotFoundException(slug));
-
-        Sort.Direction bestSort = resolveSortDirection(leaderboard.getSortOrder());
-
-        ScoreEntry bestEntry = scoreRepository.findByLeaderboardIdAndPlayerAlias(leaderboard.getId(), playerAlias)
-                .orElseThrow(() -> new PlayerNotFoundException(playerAlias));
-
-        long betterScoresCount;
-        if (leaderboard.getSortOrder() == SortOrder.ASC) {
-            betterScoresCount = scoreRepository.countBetterScoresAsc(leaderboard.getId(), bestEntry.getScoreValue(), bestEntry.getSubmittedAt());
-        } else {
-            betterScoresCount = scoreRepository.countBetterScoresDesc(leaderboard.getId(), bestEntry.getScoreValue(), bestEntry.getSubmittedAt());
-        }
-
-        long playerRank = betterScoresCount + 1;
-
-        if (surrounding <= 0) {
-            return Collections.singletonList(ScoreEntryResponse.fromEntity(bestEntry, playerRank));
-        }
-
-        Pageable limit = PageRequest.of(0, surrounding);
-        List<ScoreEntry> higherScores = scoreRepository.findHigherScores(leaderboard.getId(), bestEntry.getScoreValue(), bestEntry.getSubmittedAt(), limit).getContent();
-        List<ScoreEntry> lowerScores = scoreRepository.findLowerScores(leaderboard.getId(), bestEntry.getScoreValue(), bestEntry.getSubmittedAt(), limit).getContent();
-
-        List<ScoreEntry> betterList;
-        List<ScoreEntry> worseList;
-
-        if (leaderboard.getSortOrder() == SortOrder.ASC) {
-            betterList = new ArrayList<>(lowerScores);
-            worseList = new ArrayList<>(higherScores);
-        } else {
-            betterList = new ArrayList<>(higherScores);
-            worseList = new ArrayList<>(lowerScores);
-        }
-
-        Collections.reverse(betterList);
+        return getPlayerScoreWithSurrounding(leaderboardConfigCache.get(slug), playerAlias, surrounding);
+    }
 
-        List<ScoreEntryResponse> result = new ArrayList<>();
+    public List<ScoreEntryResponse> getPlayerScoreWithSurrounding(LeaderboardConfig leaderboard, String playerAlias, int surrounding) {
+        return scoreMetrics.time(ScoreMetrics.Operation.SURROUNDING, leaderboard.slug(), ScoreMetrics.NO_STRATEGY,
+                () -> findPlayerScoreWithSurrounding(leaderboard, playerAlias, surrounding));
+    }
 
-        for (int i = 0; i < betterList.size(); i++) {
-            long rank = playerRank - betterList.size() + i;
-            result.add(ScoreEntryResponse.fromEntity(betterList.get(i), rank));
+    private List<ScoreEntryResponse> findPlayerScoreWithSurrounding(LeaderboardConfig leaderboard, String playerAlias, int surrounding) {
+        if (rankIndexService.isEnabled()) {
+            Sort best = Sort.by(resolveSortDirection(leaderboard.sortOrder()), "scoreValue")
+                    .and(Sort.by(Sort.Direction.ASC, "submittedAt"))
+                    .and(Sort.by(Sort.Direction.ASC, "id"));
+            ScoreEntry bestEntry = scoreRepository.findByLeaderboardIdAndGenerationAndPlayerAlias(
+                            leaderboard.id(), leaderboard.generation(), playerAlias, best, Limit.of(1))
+                    .stream().findFirst()
+                    .orElseThrow(() -> new PlayerNotFoundException(playerAlias));
+            Optional<List<ScoreEntryResponse>> indexed = rankIndexService.window(leaderboard.id(), bestEntry.getId(), surrounding)
+                    .flatMap(window -> resolveWindow(window, bestEntry));
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
         }
 
-        result.add(ScoreEntryResponse.fromEntity(bestEntry, playerRank));
-
-        long currentRank = playerRank + 1;
-        for (ScoreEntry entry : worseList) {
-            result.add(ScoreEntryResponse.fromEntity(entry, currentRank++));
+        List<ScoreEntryResponse> result = scoreJdbcRepository.findWithSurrounding(
+                leaderboard.id(), leaderboard.generation(), leaderboard.sortOrder(), playerAlias, surrounding);
+        if (result.isEmpty()) {
+            throw new PlayerNotFoundException(playerAlias);
         }
-
         return result;
     }
 
     @Transactional(readOnly = true)
     public List<ScoreEntryResponse> getAllScoresForLeaderboard(String slug, int page, int size) {
-        Leaderboard leaderboard = leaderboardRepository.findBySlug(slug)
-                .orElseThrow(() -> new LeaderboardNotFoundException(slug));
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
 
-        Sort.Direction direction = resolveSortDirection(leaderboard.getSortOrder());
+        Sort.Direction direction = resolveSortDirection(leaderboard.sortOrder());
         Sort sort = Sort.by(direction, "scoreValue").and(Sort.by(Sort.Direction.ASC, "submittedAt"));
 
         int safSize = Math.min(size, 1000);
         Pageable pageable = PageRequest.of(page, safSize, sort);
 
-        Page<ScoreEntry> scorePage = scoreRepository.findByLeaderboard_Slug(slug, pageable);
+        Page<ScoreEntry> scorePage = scoreRepository.findByLeaderboard_IdAndGeneration(leaderboard.id(), leaderboard.generation(), pageable);
 
         long pageOffset = (long) page * safSize;
         List<ScoreEntryResponse> result = new ArrayList<>();
@@ -204,6 +317,40 @@ public class ScoreService {
         return result;
     }
 
+    /**
+     * Keyset variant of the admin listing: each page seeks past the cursor on the score index
+     * instead of scanning an offset, and no count query runs.
+     */
+    @Transactional(readOnly = true)
+    public ScoreCursorPageResponse getScoresAfterCursor(String slug, String cursor, int size) {
+        LeaderboardConfig leaderboard = leaderboardConfigCache.get(slug);
+        int pageSize = Math.clamp(size, 1, 1000);
+
+        List<ScoreEntry> entries;
+        long rankBefore = 0;
+        if (cursor == null || cursor.isBlank()) {
+            Sort sort = Sort.by(resolveSortDirection(leaderboard.sortOrder()), "scoreValue")
+                    .and(Sort.by(Sort.Direction.ASC, "submittedAt"))
+                    .and(Sort.by(Sort.Direction.ASC, "id"));
+            entries = scoreRepository.findPageByLeaderboard_IdAndGeneration(
+                    leaderboard.id(), leaderboard.generation(), PageRequest.of(0, pageSize, sort));
+        } else {
+            ScoreCursor after = ScoreCursor.decode(cursor);
+            rankBefore = after.rank();
+            entries = leaderboard.sortOrder() == SortOrder.ASC
+                    ? scoreRepository.findPageAfterAsc(leaderboard.id(), leaderboard.generation(), after.scoreValue(), after.submittedAt(), after.id(), Limit.of(pageSize))
+                    : scoreRepository.findPageAfterDesc(leaderboard.id(), leaderboard.generation(), after.scoreValue(), after.submittedAt(), after.id(), Limit.of(pageSize));
+        }
+
+        List<ScoreEntryResponse> result = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.add(ScoreEntryResponse.fromEntity(entries.get(i), rankBefore + i + 1));
+        }
+
+        String nextCursor = result.size() < pageSize ? null : ScoreCursor.after(result.getLast()).encode();
+        return new ScoreCursorPageResponse(result, nextCursor);
+    }
+
     @Transactional
     public void removeScore(Long scoreId) {
         ScoreEntry scoreEntry = scoreRepository.findById(scoreId)
@@ -211,7 +358,34 @@ public class ScoreService {
 
         String leaderboardSlug = scoreEntry.getLeaderboard().getSlug();
         scoreRepository.delete(scoreEntry);
-        scoreCacheService.evictTopScoresCache(leaderboardSlug);
+        rankIndexService.removeScore(scoreEntry.getLeaderboard().getId(), scoreId);
+        // The tag moves only once the reloaded list is stored, so it never labels the list with the removed entry
+        scoreCacheService.refreshTopScoresCache(leaderboardSlug, () -> leaderboardVersions.bumpCommitted(leaderboardSlug));
+        topScoresStreamService.publish(leaderboardSlug);
+    }
+
+    private long countBetterScores(LeaderboardConfig leaderboard, ScoreEntry entry) {
+        if (leaderboard.sortOrder() == SortOrder.ASC) {
+            return scoreRepository.countBetterScoresAsc(leaderboard.id(), leaderboard.generation(), entry.getScoreValue(), entry.getSubmittedAt(), entry.getId());
+        }
+        return scoreRepository.countBetterScoresDesc(leaderboard.id(), leaderboard.generation(), entry.getScoreValue(), entry.getSubmittedAt(), entry.getId());
+    }
+
+    private Optional<List<ScoreEntryResponse>> resolveWindow(RankWindow window, ScoreEntry bestEntry) {
+        List<Long> ids = window.scores().stream().map(RankedScore::id).toList();
+        Map<Long, ScoreEntry> entries = new HashMap<>();
+        scoreRepository.findAllById(ids).forEach(entry -> entries.put(entry.getId(), entry));
+        entries.put(bestEntry.getId(), bestEntry);
+
+        List<ScoreEntryResponse> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            ScoreEntry entry = entries.get(ids.get(i));
+            if (entry == null) {
+                return Optional.empty(); // Removed since the index was read, let SQL answer
+            }
+            result.add(ScoreEntryResponse.fromEntity(entry, window.startRank() + i));
+        }
+        return Optional.of(result);
     }
 
     private Sort.Direction resolveSortDirection(SortOrder sortOrder) {
@@ -0,0 +1,154 @@
+package io.github.brainzy.rankdrop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.dto.TopScoreResponse;
+import io.github.brainzy.rankdrop.dto.TopScoreWithMetadataResponse;
+import io.github.brainzy.rankdrop.dto.TopScoresListResponse;
+import io.github.brainzy.rankdrop.dto.TopScoresWithMetadataListResponse;
+import io.github.brainzy.rankdrop.metrics.ScoreMetrics;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized {@code /top} body, plain and gzipped, for each cached top list. Entries
+ * are tied to the list version from {@link ScoreCacheService}, so they go stale the moment the
+ * top-100 cache changes and identical reads skip mapping, Jackson and compression entirely.
+ */
+@Service
+@RegisterReflectionForBinding({TopScoresListResponse.class, TopScoresWithMetadataListResponse.class,
+        TopScoreResponse.class, TopScoreWithMetadataResponse.class})
+public class TopScoresResponseCache {
+
+    private final ScoreCacheService scoreCacheService;
+    private final ObjectMapper objectMapper;
+    private final ScoreMetrics scoreMetrics;
+    private final int minGzipBytes;
+    private final Cache<String, VersionedResponses> responses;
+
+    public TopScoresResponseCache(ScoreCacheService scoreCacheService, ObjectMapper objectMapper, ScoreMetrics scoreMetrics,
+                                  @Value("${server.compression.min-response-size:2KB}") DataSize minGzipSize,
+                                  @Value("${rankdrop.cache.top-responses.max-boards:1000}") long maxBoards,
+                                  @Value("${rankdrop.cache.top-scores.expire-after-access:7d}") Duration expireAfterAccess) {
+        this.scoreCacheService = scoreCacheService;
+        this.objectMapper = objectMapper;
+        this.scoreMetrics = scoreMetrics;
+        this.minGzipBytes = (int) minGzipSize.toBytes();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxBoards)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public EncodedResponse getTop(String slug, int limit, boolean includeMetadata) {
+        return scoreMetrics.time(ScoreMetrics.Operation.TOP, slug, ScoreMetrics.NO_STRATEGY,
+                () -> encodedTop(slug, limit, includeMetadata));
+    }
+
+    private EncodedResponse encodedTop(String slug, int limit, boolean includeMetadata) {
+        Variant variant = new Variant(Math.clamp(limit, 0, ScoreCacheService.TOP_CAPACITY), includeMetadata);
+        List<ScoreEntryResponse> top100 = scoreCacheService.getTop100(slug);
+
+        ScoreCacheService.TopSnapshot snapshot = scoreCacheService.topSnapshot(slug);
+        if (snapshot == null || snapshot.scores() != top100) {
+            // Not cached (or replaced meanwhile), e.g. the empty fallback while the database is down
+            return encode(top100, variant, false);
+        }
+
+        // Plain reads on the hit path; the locking compute calls only run when the list changed
+        VersionedResponses current = responses.getIfPresent(slug);
+        if (current == null || current.version() != snapshot.version()) {
+            current = responses.asMap().compute(slug, (key, existing) ->
+                    existing != null && existing.version() == snapshot.version()
+                            ? existing
+                            : new VersionedResponses(snapshot.version(), new ConcurrentHashMap<>()));
+        }
+        EncodedResponse encoded = current.byVariant().get(variant);
+        return encoded != null ? encoded : current.byVariant().computeIfAbsent(variant, v -> encode(top100, v, true));
+    }
+
+    /**
+     * True when the Accept-Encoding header allows gzip, ignoring an explicit {@code q=0}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !isZeroQuality(parts[1]);
+            }
+        }
+        return false;
+    }
+
+    // Matches q=0, q=0. and q=0.000 by hand; this runs on every /top request, so no regex
+    private static boolean isZeroQuality(String parameter) {
+        int equals = parameter.indexOf('=');
+        if (equals < 0 || !parameter.substring(0, equals).strip().equalsIgnoreCase("q")) {
+            return false;
+        }
+        String value = parameter.substring(equals + 1).strip();
+        if (value.isEmpty() || value.charAt(0) != '0') {
+            return false;
+        }
+        for (int i = 1; i < value.length(); i++) {
+            if (value.charAt(i) != (i == 1 ? '.' : '0')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private EncodedResponse encode(List<ScoreEntryResponse> top100, Variant variant, boolean cached) {
+        List<ScoreEntryResponse> scores = top100.stream().limit(variant.limit()).toList();
+        Object body = variant.includeMetadata()
+                ? TopScoresWithMetadataListResponse.fromScoreEntryResponses(scores)
+                : TopScoresListResponse.fromScoreEntryResponses(scores);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new EncodedResponse(json, json.length >= minGzipBytes ? gzip(json) : null, cached);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize top scores", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Serialized body; {@code gzip} is null when the body is below the compression threshold.
+     * {@code cached} is false for bodies built from an uncached list, such as the empty fallback
+     * while the database is down, which must not be labelled with the board's version.
+     */
+    public record EncodedResponse(byte[] json, byte[] gzip, boolean cached) {
+    }
+
+    private record Variant(int limit, boolean includeMetadata) {
+    }
+
+    private record VersionedResponses(long version, Map<Variant, EncodedResponse> byVariant) {
+    }
+}
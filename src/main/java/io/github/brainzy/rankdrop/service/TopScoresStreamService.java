@@ -0,0 +1,330 @@
+package io.github.brainzy.rankdrop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.dto.TopScoreChange;
+import io.github.brainzy.rankdrop.dto.TopScoreResponse;
+import io.github.brainzy.rankdrop.dto.TopScoresDiffEvent;
+import io.github.brainzy.rankdrop.dto.TopScoresListResponse;
+import io.github.brainzy.rankdrop.exception.LeaderboardNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes top-N changes to SSE subscribers. A committed write marks the board dirty and one
+ * dispatch per board diffs the cached top list against the last one it published, then offers
+ * the event to every subscriber's bounded queue without blocking. Each subscriber drains its
+ * queue on its own virtual thread, and one whose queue is full is dropped.
+ */
+@Service
+@Slf4j
+@RegisterReflectionForBinding({TopScoresListResponse.class, TopScoreResponse.class,
+        TopScoresDiffEvent.class, TopScoreChange.class})
+public class TopScoresStreamService {
+
+    // Queued by close() so a writer that missed the closed flag wakes from take(); compared by identity
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> CLOSE = Collections.unmodifiableSet(new HashSet<>());
+
+    private final ScoreCacheService scoreCacheService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final Map<String, BoardStream> boards = new ConcurrentHashMap<>();
+    // Not a bean: an Executor bean would make Spring Boot back off its own task executor
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("top-stream-", 0).factory());
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedSubscribers;
+
+    public TopScoresStreamService(ScoreCacheService scoreCacheService, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${rankdrop.stream.timeout:30m}") Duration timeout,
+                                  @Value("${rankdrop.stream.buffer-size:16}") int bufferSize) {
+        this.scoreCacheService = scoreCacheService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        Gauge.builder("rankdrop.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open top scores SSE streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("rankdrop.stream.dropped")
+                .description("SSE subscribers dropped because their buffer was full")
+                .register(meterRegistry);
+        // Reloads replace the list without a write passing through publish, e.g. after a removal
+        scoreCacheService.onTopReloaded(this::scheduleDispatch);
+    }
+
+    /**
+     * Opens a stream for the board's top {@code limit}. The first event is a snapshot, every
+     * later one a diff against the previous event.
+     */
+    public SseEmitter subscribe(String slug, int limit) {
+        List<ScoreEntryResponse> current = scoreCacheService.getTop100(slug);
+        Subscriber subscriber = new Subscriber(slug, new SseEmitter(timeoutMs),
+                Math.clamp(limit, 1, ScoreCacheService.TOP_CAPACITY), new ArrayBlockingQueue<>(bufferSize));
+
+        boolean[] stale = {false};
+        boards.compute(slug, (key, board) -> {
+            BoardStream stream = board != null ? board : new BoardStream(current);
+            synchronized (stream) {
+                subscriber.queue.offer(snapshotEvent(stream.lastTop, subscriber.limit));
+                stream.subscribers.add(subscriber);
+                stale[0] = stream.lastTop != current;
+            }
+            return stream;
+        });
+        subscriberCount.incrementAndGet();
+
+        subscriber.emitter.onCompletion(() -> close(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(error -> close(subscriber));
+        executor.execute(() -> writeLoop(subscriber));
+
+        if (stale[0]) {
+            scheduleDispatch(slug);
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Called for every write that may change the board's top list; a no-op without subscribers.
+     */
+    public void publish(String slug) {
+        if (!boards.containsKey(slug)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> scheduleDispatch(slug));
+    }
+
+    // Comments keep proxies from closing idle streams and flush out clients that went away
+    @Scheduled(fixedDelayString = "${rankdrop.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        List<Subscriber> slow = new ArrayList<>();
+        for (BoardStream board : boards.values()) {
+            synchronized (board) {
+                for (Subscriber subscriber : board.subscribers) {
+                    offer(subscriber, ping, slow);
+                }
+            }
+        }
+        slow.forEach(this::drop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (BoardStream board : boards.values()) {
+            board.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Changes between two ranked lists, limited to the top {@code limit} of each. Entries are
+     * matched by id; an entry that kept its rank but changed score counts as moved.
+     */
+    static TopScoresDiffEvent diff(List<ScoreEntryResponse> previous, List<ScoreEntryResponse> current, int limit) {
+        Map<Long, ScoreEntryResponse> before = new HashMap<>();
+        for (ScoreEntryResponse entry : previous.subList(0, Math.min(limit, previous.size()))) {
+            before.put(entry.id(), entry);
+        }
+
+        List<TopScoreChange> entered = new ArrayList<>();
+        List<TopScoreChange> moved = new ArrayList<>();
+        for (ScoreEntryResponse entry : current.subList(0, Math.min(limit, current.size()))) {
+            ScoreEntryResponse old = before.remove(entry.id());
+            if (old == null) {
+                entered.add(new TopScoreChange(entry.playerAlias(), entry.scoreValue(), entry.rank(), null));
+            } else if (old.rank() != entry.rank() || old.scoreValue() != entry.scoreValue()) {
+                moved.add(new TopScoreChange(entry.playerAlias(), entry.scoreValue(), entry.rank(), old.rank()));
+            }
+        }
+
+        List<TopScoreChange> left = new ArrayList<>();
+        for (ScoreEntryResponse old : before.values()) {
+            left.add(new TopScoreChange(old.playerAlias(), old.scoreValue(), null, old.rank()));
+        }
+        left.sort((a, b) -> Long.compare(a.from(), b.from()));
+        return new TopScoresDiffEvent(entered, moved, left);
+    }
+
+    private void scheduleDispatch(String slug) {
+        BoardStream board = boards.get(slug);
+        if (board == null) {
+            return;
+        }
+        board.dirty.set(true);
+        if (board.dispatching.compareAndSet(false, true)) {
+            executor.execute(() -> dispatch(slug, board));
+        }
+    }
+
+    /**
+     * Runs until the board stops changing; writes arriving meanwhile are folded into the next pass.
+     */
+    private void dispatch(String slug, BoardStream board) {
+        try {
+            while (board.dirty.getAndSet(false)) {
+                List<ScoreEntryResponse> top = scoreCacheService.getTop100(slug);
+                ScoreCacheService.TopSnapshot snapshot = scoreCacheService.topSnapshot(slug);
+                if (snapshot == null || snapshot.scores() != top) {
+                    // Uncached fallback (database down) or replaced meanwhile; the next write retries
+                    continue;
+                }
+                publishDiffs(board, top);
+            }
+        } catch (LeaderboardNotFoundException e) {
+            boards.remove(slug, board);
+            board.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        } catch (Exception e) {
+            log.warn("Failed to publish top scores for slug '{}': {}", slug, e.getMessage());
+        } finally {
+            board.dispatching.set(false);
+            if (board.dirty.get() && board.dispatching.compareAndSet(false, true)) {
+                executor.execute(() -> dispatch(slug, board));
+            }
+        }
+    }
+
+    private void publishDiffs(BoardStream board, List<ScoreEntryResponse> top) {
+        List<Subscriber> slow = new ArrayList<>();
+        synchronized (board) {
+            List<ScoreEntryResponse> previous = board.lastTop;
+            board.lastTop = top;
+            // Subscribers asking for the same N share one diff and one serialized event
+            Map<Integer, Set<ResponseBodyEmitter.DataWithMediaType>> events = new HashMap<>();
+            for (Subscriber subscriber : board.subscribers) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = events.computeIfAbsent(subscriber.limit, limit -> {
+                    TopScoresDiffEvent diff = diff(previous, top, limit);
+                    boolean empty = diff.entered().isEmpty() && diff.moved().isEmpty() && diff.left().isEmpty();
+                    return empty ? Set.of() : SseEmitter.event().name("diff").data(toJson(diff)).build();
+                });
+                if (!event.isEmpty()) {
+                    offer(subscriber, event, slow);
+                }
+            }
+        }
+        slow.forEach(this::drop);
+    }
+
+    private static void offer(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event, List<Subscriber> slow) {
+        if (!subscriber.queue.offer(event)) {
+            slow.add(subscriber);
+        }
+    }
+
+    // Never called under a board lock: close() takes the map's bin lock, which subscribe() holds while locking a board
+    private void drop(Subscriber subscriber) {
+        droppedSubscribers.increment();
+        log.debug("Dropping slow top scores subscriber on '{}'", subscriber.slug);
+        close(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> snapshotEvent(List<ScoreEntryResponse> top, int limit) {
+        List<ScoreEntryResponse> scores = top.subList(0, Math.min(limit, top.size()));
+        return SseEmitter.event().name("snapshot").data(toJson(TopScoresListResponse.fromScoreEntryResponses(scores))).build();
+    }
+
+    private void writeLoop(Subscriber subscriber) {
+        subscriber.writer = Thread.currentThread();
+        try {
+            while (!subscriber.closed) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = subscriber.queue.take();
+                if (event == CLOSE) {
+                    return;
+                }
+                subscriber.emitter.send(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            close(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.closed = true;
+        // A full queue needs no marker: take() won't block, and the loop sees the flag after sending
+        subscriber.queue.offer(CLOSE);
+        Thread writer = subscriber.writer;
+        if (writer != null) {
+            writer.interrupt();
+        }
+        boards.computeIfPresent(subscriber.slug, (key, board) -> {
+            synchronized (board) {
+                if (board.subscribers.remove(subscriber)) {
+                    subscriberCount.decrementAndGet();
+                }
+                return board.subscribers.isEmpty() ? null : board;
+            }
+        });
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize top scores event", e);
+        }
+    }
+
+    private static final class BoardStream {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+        private List<ScoreEntryResponse> lastTop;
+
+        private BoardStream(List<ScoreEntryResponse> lastTop) {
+            this.lastTop = lastTop;
+        }
+    }
+
+    private static final class Subscriber {
+        private final String slug;
+        private final SseEmitter emitter;
+        private final int limit;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private volatile boolean closed;
+        private volatile Thread writer;
+
+        private Subscriber(String slug, SseEmitter emitter, int limit,
+                           BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.slug = slug;
+            this.emitter = emitter;
+            this.limit = limit;
+            this.queue = queue;
+        }
+    }
+}
@@ -1,56 +1,265 @@
 package io.github.brainzy.rankdrop.service;
 
+import io.github.brainzy.rankdrop.dto.WebhookBatchPayload;
 import io.github.brainzy.rankdrop.dto.WebhookPayload;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Sends top score notifications off the request path. Eligibility is decided from settings held
+ * in memory, the cooldown is claimed atomically, and accepted events wait in a bounded queue for
+ * the dispatcher workers. A full queue drops the event instead of slowing down submissions.
+ * <p>
+ * In batch mode the cooldown is skipped: events are buffered per leaderboard for one window,
+ * coalesced to the latest event per player, and delivered as a single array payload.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WebhookService {
 
+    private final WebhookSettingsStore webhookSettingsStore;
     private final SystemSettingService systemSettingService;
     private final RestClient restClient;
+    private final BlockingQueue<QueuedEvent> queue;
+    private final ExecutorService workers;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final AtomicLong nextAllowedNanos = new AtomicLong(System.nanoTime());
+    private final boolean batchEnabled;
+    private final long batchWindowMs;
+    private final Map<String, BatchWindow> batchWindows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService batchFlusher;
+    private final Counter droppedEvents;
+    private final Counter failedEvents;
+    private final Timer deliveryTimer;
+
+    public WebhookService(WebhookSettingsStore webhookSettingsStore, SystemSettingService systemSettingService,
+                          RestClient restClient, MeterRegistry meterRegistry,
+                          @Value("${rankdrop.webhook.queue-capacity:1000}") int queueCapacity,
+                          @Value("${rankdrop.webhook.workers:2}") int workerCount,
+                          @Value("${rankdrop.webhook.max-attempts:3}") int maxAttempts,
+                          @Value("${rankdrop.webhook.backoff:500ms}") Duration backoff,
+                          @Value("${rankdrop.webhook.batch.enabled:false}") boolean batchEnabled,
+                          @Value("${rankdrop.webhook.batch.window:2s}") Duration batchWindow) {
+        this.webhookSettingsStore = webhookSettingsStore;
+        this.systemSettingService = systemSettingService;
+        this.restClient = restClient;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoff.toMillis();
+        this.batchEnabled = batchEnabled;
+        this.batchWindowMs = batchWindow.toMillis();
+        this.batchFlusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("webhook-batch").factory());
+        Gauge.builder("rankdrop.webhook.queue.depth", queue, BlockingQueue::size)
+                .description("Webhook events waiting for a dispatcher worker")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("rankdrop.webhook.dropped")
+                .description("Webhook events dropped because the queue was full")
+                .register(meterRegistry);
+        this.failedEvents = Counter.builder("rankdrop.webhook.failed")
+                .description("Webhook events given up on after all attempts")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("rankdrop.webhook.delivery")
+                .description("Time from accepting a webhook event to its successful delivery")
+                .register(meterRegistry);
+
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("webhook-", 0).factory());
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            workers.execute(this::work);
+        }
+    }
 
-    @Async
     public void fireTopScoreWebhookIfEligible(String slug, String playerAlias, double score, int rank) {
-        String webhookUrl = systemSettingService.getSetting("WEBHOOK_URL");
-        if (webhookUrl == null || webhookUrl.isBlank()) {
+        WebhookSettingsStore.Settings settings = webhookSettingsStore.current();
+        if (!settings.enabled() || rank > settings.topN()) {
             return;
         }
 
-        int topN = Integer.parseInt(systemSettingService.getSetting("WEBHOOK_TOP_N", "10"));
-        if (rank > topN) {
+        WebhookPayload payload = new WebhookPayload("NEW_TOP_SCORE", slug,
+                playerAlias, score, rank, LocalDateTime.now(ZoneOffset.UTC).toString());
+        TransactionCallbacks.afterCommit(() -> {
+            if (batchEnabled) {
+                addToBatch(payload);
+            } else if (claimCooldown(settings.cooldownMs())) {
+                enqueue(slug, payload);
+            }
+        });
+    }
+
+    /**
+     * Evaluates a batch of submissions once. In batch mode every eligible score joins the board's
+     * window; otherwise a single cooldown claim sends the best-ranked one.
+     */
+    public void fireTopScoreWebhooksIfEligible(String slug, List<TopScoreCandidate> candidates) {
+        WebhookSettingsStore.Settings settings = webhookSettingsStore.current();
+        if (!settings.enabled()) {
+            return;
+        }
+
+        String timestamp = LocalDateTime.now(ZoneOffset.UTC).toString();
+        List<WebhookPayload> payloads = candidates.stream()
+                .filter(candidate -> candidate.rank() <= settings.topN())
+                .sorted(Comparator.comparingInt(TopScoreCandidate::rank))
+                .map(candidate -> new WebhookPayload("NEW_TOP_SCORE", slug,
+                        candidate.playerAlias(), candidate.score(), candidate.rank(), timestamp))
+                .toList();
+        if (payloads.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (batchEnabled) {
+                payloads.forEach(this::addToBatch);
+            } else if (claimCooldown(settings.cooldownMs())) {
+                enqueue(slug, payloads.getFirst());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchFlusher.shutdownNow();
+        workers.shutdownNow();
+        if (!queue.isEmpty()) {
+            log.info("Discarding {} queued webhook events on shutdown", queue.size());
+        }
+    }
+
+    /**
+     * Lets one caller through per cooldown window; concurrent callers race on a single CAS.
+     */
+    private boolean claimCooldown(long cooldownMs) {
+        long now = System.nanoTime();
+        long nextAllowed = nextAllowedNanos.get();
+        if (now - nextAllowed < 0) {
+            return false;
+        }
+        return nextAllowedNanos.compareAndSet(nextAllowed, now + TimeUnit.MILLISECONDS.toNanos(cooldownMs));
+    }
+
+    /**
+     * Adds the event to the board's open window, opening one and scheduling its flush if needed.
+     * Mutating the window only inside compute() means a flush, which removes it first, sees
+     * every event that made it in and none can be added afterwards.
+     */
+    private void addToBatch(WebhookPayload payload) {
+        batchWindows.compute(payload.leaderboard(), (slug, window) -> {
+            BatchWindow open = window != null ? window : new BatchWindow(System.nanoTime());
+            if (window == null) {
+                batchFlusher.schedule(() -> flushBatch(slug, open), batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+            open.latestByPlayer.put(payload.playerAlias(), payload);
+            return open;
+        });
+    }
+
+    private void flushBatch(String slug, BatchWindow window) {
+        if (!batchWindows.remove(slug, window)) {
             return;
         }
+        List<WebhookPayload> events = new ArrayList<>(window.latestByPlayer.values());
+        events.sort(Comparator.comparingInt(WebhookPayload::rank));
+        enqueue(slug, new WebhookBatchPayload("NEW_TOP_SCORES", slug, events, LocalDateTime.now(ZoneOffset.UTC).toString()),
+                window.openedAtNanos);
+    }
+
+    private void enqueue(String slug, Object payload) {
+        enqueue(slug, payload, System.nanoTime());
+    }
+
+    private void enqueue(String slug, Object payload, long acceptedAtNanos) {
+        if (!queue.offer(new QueuedEvent(payload, acceptedAtNanos))) {
+            droppedEvents.increment();
+            log.debug("Webhook queue full, dropping event for '{}'", slug);
+        }
+    }
 
-        if (!isCooldownExpired()) {
+    private void work() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                deliver(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(QueuedEvent event) throws InterruptedException {
+        String url = webhookSettingsStore.current().url();
+        if (url == null || url.isBlank()) {
             return;
         }
 
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                restClient.post().uri(url).body(event.payload()).retrieve().toBodilessEntity();
+                deliveryTimer.record(System.nanoTime() - event.acceptedAtNanos(), TimeUnit.NANOSECONDS);
+                recordLastFired();
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    failedEvents.increment();
+                    log.warn("Webhook failed after {} attempts: {}", attempt, e.getMessage());
+                    return;
+                }
+                Thread.sleep(backoffWithJitter(attempt));
+            }
+        }
+    }
+
+    // Full jitter: a random wait up to the exponential step, so retries from a burst spread out
+    private long backoffWithJitter(int attempt) {
+        long step = backoffMs << Math.min(attempt - 1, 10);
+        return ThreadLocalRandom.current().nextLong(step + 1);
+    }
+
+    // Kept for the admin settings view; written by the worker, never on the submission path
+    private void recordLastFired() {
         try {
-            WebhookPayload payload = new WebhookPayload("NEW_TOP_SCORE", slug,
-                    playerAlias, score, rank, LocalDateTime.now(ZoneOffset.UTC).toString());
-            restClient.post().uri(webhookUrl).body(payload).retrieve().toBodilessEntity();
             systemSettingService.setSetting("WEBHOOK_LAST_FIRED", LocalDateTime.now(ZoneOffset.UTC).toString());
         } catch (Exception e) {
-            log.warn("Webhook failed: {}", e.getMessage());
+            log.debug("Failed to record webhook delivery time: {}", e.getMessage());
         }
     }
 
-    private boolean isCooldownExpired() {
-        String lastFired = systemSettingService.getSetting("WEBHOOK_LAST_FIRED");
-        if (lastFired == null) {
-            return true;
-        }
+    public record TopScoreCandidate(String playerAlias, double score, int rank) {
+    }
+
+    private record QueuedEvent(Object payload, long acceptedAtNanos) {
+    }
 
-        long cooldown = Long.parseLong(systemSettingService.getSetting("WEBHOOK_COOLDOWN_MS", "10000"));
-        return LocalDateTime.parse(lastFired).plusNanos(cooldown * 1_000_000L).isBefore(LocalDateTime.now(ZoneOffset.UTC));
+    // Identity matters: a flush removes exactly the window it was scheduled for
+    private static final class BatchWindow {
+        private final long openedAtNanos;
+        private final Map<String, WebhookPayload> latestByPlayer = new LinkedHashMap<>();
+
+        private BatchWindow(long openedAtNanos) {
+            this.openedAtNanos = openedAtNanos;
+        }
     }
 }
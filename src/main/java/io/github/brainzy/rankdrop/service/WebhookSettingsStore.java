@@ -0,0 +1,60 @@
+package io.github.brainzy.rankdrop.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the webhook settings in memory so score submissions decide whether to notify without a
+ * query. Changes through the admin API apply immediately; the periodic reload picks up the rest.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookSettingsStore {
+
+    static final String URL_KEY = "WEBHOOK_URL";
+    static final String TOP_N_KEY = "WEBHOOK_TOP_N";
+    static final String COOLDOWN_KEY = "WEBHOOK_COOLDOWN_MS";
+
+    private final SystemSettingService systemSettingService;
+
+    private volatile Settings settings = new Settings(null, 10, 10_000);
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${rankdrop.webhook.settings-reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            settings = new Settings(
+                    systemSettingService.getSetting(URL_KEY),
+                    Integer.parseInt(systemSettingService.getSetting(TOP_N_KEY, "10")),
+                    Long.parseLong(systemSettingService.getSetting(COOLDOWN_KEY, "10000")));
+        } catch (Exception e) {
+            log.warn("Failed to reload webhook settings, keeping current ones. Error: {}", e.getMessage());
+        }
+    }
+
+    public Settings current() {
+        return settings;
+    }
+
+    /**
+     * Applies an admin change; null arguments keep the current value, like the settings endpoint.
+     */
+    public void update(String url, Integer topN, Long cooldownMs) {
+        Settings previous = settings;
+        settings = new Settings(
+                url != null ? url : previous.url(),
+                topN != null ? topN : previous.topN(),
+                cooldownMs != null ? cooldownMs : previous.cooldownMs());
+    }
+
+    public record Settings(String url, int topN, long cooldownMs) {
+
+        public boolean enabled() {
+            return url != null && !url.isBlank();
+        }
+    }
+}
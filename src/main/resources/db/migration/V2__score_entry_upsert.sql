@@ -0,0 +1,43 @@
+ALTER TABLE score_entries ADD COLUMN player_unique BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Racing first submissions could leave several rows per player on single-entry boards.
+-- BEST_ONLY keeps the best row, CUMULATIVE folds the duplicates into the oldest one.
+WITH ranked AS (
+    SELECT s.id,
+           ROW_NUMBER() OVER (
+               PARTITION BY s.leaderboard_id, s.player_alias
+               ORDER BY CASE WHEN l.sort_order = 'ASC' THEN s.score_value ELSE -s.score_value END, s.submitted_at, s.id
+           ) AS position
+    FROM score_entries s
+    JOIN leaderboards l ON l.id = s.leaderboard_id
+    WHERE l.score_strategy = 'BEST_ONLY'
+)
+DELETE FROM score_entries WHERE id IN (SELECT id FROM ranked WHERE position > 1);
+
+WITH totals AS (
+    SELECT MIN(s.id) AS keep_id, SUM(s.score_value) AS total, MAX(s.submitted_at) AS last_submitted
+    FROM score_entries s
+    JOIN leaderboards l ON l.id = s.leaderboard_id
+    WHERE l.score_strategy = 'CUMULATIVE'
+    GROUP BY s.leaderboard_id, s.player_alias
+    HAVING COUNT(*) > 1
+)
+UPDATE score_entries s
+SET score_value = t.total, submitted_at = t.last_submitted
+FROM totals t
+WHERE s.id = t.keep_id;
+
+DELETE FROM score_entries s
+USING leaderboards l
+WHERE l.id = s.leaderboard_id
+  AND l.score_strategy = 'CUMULATIVE'
+  AND EXISTS (SELECT 1 FROM score_entries o
+              WHERE o.leaderboard_id = s.leaderboard_id AND o.player_alias = s.player_alias AND o.id < s.id);
+
+UPDATE score_entries s
+SET player_unique = TRUE
+FROM leaderboards l
+WHERE l.id = s.leaderboard_id
+  AND l.score_strategy IN ('BEST_ONLY', 'CUMULATIVE');
+
+-- The unique index behind the upserts' ON CONFLICT is built once, with the generation column, in V4
@@ -0,0 +1,27 @@
+-- A reset bumps the board's generation instead of deleting its rows; reads only see the current one.
+-- Both columns default to 0, which PostgreSQL adds without rewriting the table.
+ALTER TABLE leaderboards ADD COLUMN current_generation BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE score_entries ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+
+-- Every score index is built here, once, in its final shape; earlier migrations leave them to this one
+CREATE UNIQUE INDEX ux_score_entries_player ON score_entries (leaderboard_id, generation, player_alias) WHERE player_unique;
+
+-- Seek pagination orders by (score, submitted_at, id); including id lets every page start with an index seek
+CREATE INDEX idx_score_entries_seek_desc ON score_entries (leaderboard_id, generation, score_value DESC, submitted_at ASC, id ASC);
+CREATE INDEX idx_score_entries_seek_asc ON score_entries (leaderboard_id, generation, score_value ASC, submitted_at ASC, id ASC);
+
+-- Superseded by idx_score_entries_seek_desc, which has the same leading columns
+DROP INDEX idx_leaderboard_score;
+
+DROP INDEX idx_leaderboard_player;
+CREATE INDEX idx_leaderboard_player ON score_entries (leaderboard_id, generation, player_alias);
+
+-- Old generations waiting to be archived or deleted by the background purge
+CREATE TABLE leaderboard_purges (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    leaderboard_id BIGINT NOT NULL,
+    leaderboard_slug VARCHAR(255) NOT NULL,
+    generation BIGINT NOT NULL,
+    reset_label VARCHAR(255),
+    requested_at TIMESTAMPTZ NOT NULL
+);
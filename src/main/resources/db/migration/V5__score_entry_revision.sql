@@ -0,0 +1,3 @@
+-- Bumped by every upsert of a row. Upserts of the same row are serialized by its row lock, so a
+-- higher revision always belongs to the later commit, whatever the submitted_at values say.
+ALTER TABLE score_entries ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,132 @@
+package io.github.brainzy.rankdrop.ranking;
+
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardRankIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void ranksMatchSqlCountQueriesForDescendingBoards() {
+        assertMatchesSql(SortOrder.DESC);
+    }
+
+    @Test
+    void ranksMatchSqlCountQueriesForAscendingBoards() {
+        assertMatchesSql(SortOrder.ASC);
+    }
+
+    @Test
+    void windowIsClampedAtTheTopOfTheBoard() {
+        LeaderboardRankIndex index = new LeaderboardRankIndex(SortOrder.DESC);
+        for (long id = 1; id <= 10; id++) {
+            index.upsert(new RankedScore(id, "p" + id, id * 10, BASE.plusSeconds(id)));
+        }
+
+        RankWindow window = index.window(9L, 3).orElseThrow();
+
+        assertThat(window.startRank()).isEqualTo(1);
+        assertThat(window.scores()).extracting(RankedScore::id).containsExactly(10L, 9L, 8L, 7L, 6L);
+    }
+
+    @Test
+    void windowIsClampedAtTheBottomOfTheBoard() {
+        LeaderboardRankIndex index = new LeaderboardRankIndex(SortOrder.DESC);
+        for (long id = 1; id <= 10; id++) {
+            index.upsert(new RankedScore(id, "p" + id, id * 10, BASE.plusSeconds(id)));
+        }
+
+        RankWindow window = index.window(2L, 2).orElseThrow();
+
+        assertThat(window.startRank()).isEqualTo(7);
+        assertThat(window.scores()).extracting(RankedScore::id).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void countBetterIgnoresThePreviousVersionOfTheSameEntry() {
+        LeaderboardRankIndex index = new LeaderboardRankIndex(SortOrder.ASC);
+        index.upsert(new RankedScore(1L, "a", 10, BASE));
+        index.upsert(new RankedScore(2L, "b", 20, BASE.plusSeconds(1)));
+
+        // Cumulative ASC board: player a grows from 10 to 30 and falls behind b
+        long better = index.countBetter(new RankedScore(1L, "a", 30, BASE.plusSeconds(2)));
+
+        assertThat(better).isEqualTo(1);
+    }
+
+    @Test
+    void tiedEntriesRankByIdLikeTheSqlCountQueries() {
+        // Batch submissions store every row with the same timestamp
+        LeaderboardRankIndex index = new LeaderboardRankIndex(SortOrder.DESC);
+        List<RankedScore> rows = List.of(
+                new RankedScore(4L, "d", 50, BASE),
+                new RankedScore(2L, "b", 50, BASE),
+                new RankedScore(3L, "c", 70, BASE),
+                new RankedScore(1L, "a", 50, BASE));
+        rows.forEach(index::upsert);
+
+        for (RankedScore row : rows) {
+            assertThat(index.countBetter(row.id()).orElseThrow())
+                    .as("rank of entry %d", row.id())
+                    .isEqualTo(sqlCountBetter(rows, row, SortOrder.DESC));
+        }
+        assertThat(index.top(10)).extracting(RankedScore::id).containsExactly(3L, 1L, 2L, 4L);
+        assertThat(index.window(2L, 1).orElseThrow().startRank()).isEqualTo(2);
+    }
+
+    private void assertMatchesSql(SortOrder sortOrder) {
+        Random random = new Random(42);
+        LeaderboardRankIndex index = new LeaderboardRankIndex(sortOrder);
+        Map<Long, RankedScore> rows = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                index.remove(id);
+                rows.remove(id);
+            } else {
+                RankedScore score = new RankedScore(id, "p" + id, random.nextInt(200), BASE.plusNanos(step * 1_000L));
+                index.upsert(score);
+                rows.put(id, score);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(rows.size());
+        for (RankedScore row : rows.values()) {
+            assertThat(index.countBetter(row.id()).orElseThrow())
+                    .as("rank of entry %d", row.id())
+                    .isEqualTo(sqlCountBetter(rows.values(), row, sortOrder));
+        }
+
+        List<RankedScore> expectedOrder = new ArrayList<>(rows.values());
+        expectedOrder.sort(RankedScore.comparator(sortOrder));
+        assertThat(index.top(100)).containsExactlyElementsOf(expectedOrder.subList(0, Math.min(100, expectedOrder.size())));
+    }
+
+    // Mirrors ScoreEntryRepository.countBetterScoresDesc / countBetterScoresAsc
+    private static long sqlCountBetter(Iterable<RankedScore> rows, RankedScore target, SortOrder sortOrder) {
+        long count = 0;
+        for (RankedScore row : rows) {
+            boolean betterScore = sortOrder == SortOrder.ASC
+                    ? row.scoreValue() < target.scoreValue()
+                    : row.scoreValue() > target.scoreValue();
+            boolean earlierTie = row.scoreValue() == target.scoreValue()
+                    && (row.submittedAt().isBefore(target.submittedAt())
+                    || (row.submittedAt().equals(target.submittedAt()) && row.id() < target.id()));
+            if (betterScore || earlierTie) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreCacheServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final Comparator<ScoreEntryResponse> DESC = ScoreCacheService.responseOrder(SortOrder.DESC);
+
+    @Test
+    void insertsNewEntryInSortedPositionAndRenumbers() {
+        List<ScoreEntryResponse> top = board(3, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(99L, 25, 10), DESC, 3);
+
+        assertThat(updated).extracting(ScoreEntryResponse::id).containsExactly(3L, 99L, 2L);
+        assertThat(updated).extracting(ScoreEntryResponse::rank).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void leavesFullListUntouchedWhenEntryRanksBelowIt() {
+        List<ScoreEntryResponse> top = board(3, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(99L, 1, 10), DESC, 3);
+
+        assertThat(updated).isSameAs(top);
+    }
+
+    @Test
+    void movesExistingEntryUp() {
+        List<ScoreEntryResponse> top = board(3, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(1L, 50, 10, 1), DESC, 3);
+
+        assertThat(updated).extracting(ScoreEntryResponse::id).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void requestsReloadWhenEntryFallsOutOfFullList() {
+        List<ScoreEntryResponse> top = board(3, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(3L, 0, 10, 1), ScoreCacheService.responseOrder(SortOrder.DESC), 3);
+
+        assertThat(updated).isNull();
+    }
+
+    @Test
+    void ignoresOlderRevisionOfCachedEntry() {
+        List<ScoreEntryResponse> top = ScoreCacheService.mergeIntoTop(board(3, 3), entry(2L, 25, 2, 2), DESC, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(2L, 99, 10, 1), DESC, 3);
+
+        assertThat(updated).isSameAs(top);
+    }
+
+    @Test
+    void appliesNewerRevisionEvenWithAnEarlierTimestamp() {
+        // BEST_ONLY: T2 stores 60 at t=20, then T1 (which read the clock first, t=10) raises it to 70 and commits last
+        List<ScoreEntryResponse> top = ScoreCacheService.mergeIntoTop(board(3, 3), entry(1L, 60, 20, 1), DESC, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(1L, 70, 10, 2), DESC, 3);
+
+        assertThat(updated).extracting(ScoreEntryResponse::id).containsExactly(1L, 3L, 2L);
+        assertThat(updated.getFirst().scoreValue()).isEqualTo(70);
+    }
+
+    @Test
+    void keepsTheLaterCommitWhenCallbacksRunInReverse() {
+        // Same two commits as above, but T1's after-commit merge runs before T2's
+        List<ScoreEntryResponse> top = ScoreCacheService.mergeIntoTop(board(3, 3), entry(1L, 70, 10, 2), DESC, 3);
+
+        List<ScoreEntryResponse> updated = ScoreCacheService.mergeIntoTop(top, entry(1L, 60, 20, 1), DESC, 3);
+
+        assertThat(updated).isSameAs(top);
+        assertThat(updated.getFirst().scoreValue()).isEqualTo(70);
+    }
+
+    private static List<ScoreEntryResponse> board(int size, int capacity) {
+        List<ScoreEntryResponse> entries = new ArrayList<>();
+        for (long id = size; id >= 1; id--) {
+            entries.add(new ScoreEntryResponse(id, "p" + id, id * 10, size - id + 1, BASE.plusSeconds(id), null));
+        }
+        return entries.subList(0, Math.min(size, capacity));
+    }
+
+    private static ScoreEntryResponse entry(Long id, double score, long secondsAfterBase) {
+        return entry(id, score, secondsAfterBase, 0);
+    }
+
+    private static ScoreEntryResponse entry(Long id, double score, long secondsAfterBase, long revision) {
+        return new ScoreEntryResponse(id, "p" + id, score, 0, BASE.plusSeconds(secondsAfterBase), null, revision);
+    }
+}
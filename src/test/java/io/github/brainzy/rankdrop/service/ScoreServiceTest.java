@@ -0,0 +1,149 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.dto.ScoreBatchEntryResponse;
+import io.github.brainzy.rankdrop.dto.ScoreSubmissionRequest;
+import io.github.brainzy.rankdrop.entity.ScoreEntry;
+import io.github.brainzy.rankdrop.entity.ScoreStrategy;
+import io.github.brainzy.rankdrop.entity.SortOrder;
+import io.github.brainzy.rankdrop.metrics.ScoreMetrics;
+import io.github.brainzy.rankdrop.repository.ScoreEntryRepository;
+import io.github.brainzy.rankdrop.repository.ScoreJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch submissions against a fake upsertBatch that, like the real one, returns one stored row
+ * per written alias in input order, with ids ascending.
+ */
+class ScoreServiceTest {
+
+    private static final String SLUG = "board";
+
+    private final ScoreJdbcRepository scoreJdbcRepository = mock(ScoreJdbcRepository.class);
+    private final PlayerService playerService = mock(PlayerService.class);
+    private final LeaderboardConfigCache leaderboardConfigCache = mock(LeaderboardConfigCache.class);
+    private final ScoreMetrics scoreMetrics = mock(ScoreMetrics.class);
+    private final WebhookService webhookService = mock(WebhookService.class);
+    private final ScoreService scoreService = new ScoreService(mock(ScoreEntryRepository.class), scoreJdbcRepository,
+            mock(ScoreCacheService.class), playerService, webhookService, mock(RankIndexService.class),
+            leaderboardConfigCache, new LeaderboardVersions(true), mock(TopScoresStreamService.class), scoreMetrics);
+
+    private final List<String> writtenAliases = new ArrayList<>();
+    private final List<Double> writtenValues = new ArrayList<>();
+
+    ScoreServiceTest() {
+        when(scoreMetrics.time(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+        when(playerService.findBannedPlayers(any())).thenReturn(Set.of("banned"));
+        when(scoreJdbcRepository.countBetterScores(any(), anyLong(), any(), any())).thenReturn(Map.of());
+        when(scoreJdbcRepository.upsertBatch(any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            String[] aliases = invocation.getArgument(3);
+            double[] values = invocation.getArgument(4);
+            List<ScoreEntry> rows = new ArrayList<>();
+            for (int i = 0; i < aliases.length; i++) {
+                writtenAliases.add(aliases[i]);
+                writtenValues.add(values[i]);
+                rows.add(ScoreEntry.builder().id(100L + i).playerAlias(aliases[i]).scoreValue(values[i]).build());
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void rejectsBannedAndOutOfRangeEntriesWithoutFailingTheRest() {
+        board(ScoreStrategy.BEST_ONLY, SortOrder.DESC);
+
+        List<ScoreBatchEntryResponse> results = submit(
+                request("a", 10), request("banned", 20), request("b", 500), request("c", 30));
+
+        assertThat(results).extracting(ScoreBatchEntryResponse::accepted).containsExactly(true, false, false, true);
+        assertThat(results.get(1).error()).isEqualTo("Player is banned");
+        assertThat(results.get(2).error()).startsWith("Score exceeds the maximum");
+        assertThat(writtenAliases).containsExactly("a", "c");
+    }
+
+    @Test
+    void foldsRepeatedAliasesIntoTheBestScoreUnderBestOnly() {
+        board(ScoreStrategy.BEST_ONLY, SortOrder.DESC);
+
+        List<ScoreBatchEntryResponse> results = submit(
+                request("a", 10), request("b", 5), request("a", 30), request("a", 20));
+
+        assertThat(writtenAliases).containsExactly("a", "b");
+        assertThat(writtenValues).containsExactly(30.0, 5.0);
+        assertThat(results).extracting(ScoreBatchEntryResponse::score).containsExactly(30.0, 5.0, 30.0, 30.0);
+    }
+
+    @Test
+    void foldsRepeatedAliasesIntoTheLowestScoreUnderBestOnlyAscending() {
+        board(ScoreStrategy.BEST_ONLY, SortOrder.ASC);
+
+        submit(request("a", 10), request("a", 3), request("a", 7));
+
+        assertThat(writtenAliases).containsExactly("a");
+        assertThat(writtenValues).containsExactly(3.0);
+    }
+
+    @Test
+    void sumsRepeatedAliasesUnderCumulative() {
+        board(ScoreStrategy.CUMULATIVE, SortOrder.DESC);
+
+        List<ScoreBatchEntryResponse> results = submit(
+                request("a", 10), request("b", 5), request("a", 30));
+
+        assertThat(writtenAliases).containsExactly("a", "b");
+        assertThat(writtenValues).containsExactly(40.0, 5.0);
+        assertThat(results).extracting(ScoreBatchEntryResponse::score).containsExactly(40.0, 5.0, 40.0);
+    }
+
+    @Test
+    void mapsMultipleEntriesRowsBackToTheirSubmissions() {
+        board(ScoreStrategy.MULTIPLE_ENTRIES, SortOrder.DESC);
+
+        List<ScoreBatchEntryResponse> results = submit(
+                request("a", 10), request("b", 500), request("a", 20), request("c", 30));
+
+        assertThat(writtenAliases).containsExactly("a", "a", "c");
+        assertThat(results).extracting(ScoreBatchEntryResponse::playerAlias).containsExactly("a", "b", "a", "c");
+        assertThat(results).extracting(ScoreBatchEntryResponse::score).containsExactly(10.0, null, 20.0, 30.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsSubmittedValuesToWebhooksLikeSingleSubmits() {
+        board(ScoreStrategy.CUMULATIVE, SortOrder.DESC);
+
+        submit(request("a", 10), request("a", 30));
+
+        ArgumentCaptor<List<WebhookService.TopScoreCandidate>> candidates = ArgumentCaptor.forClass(List.class);
+        verify(webhookService).fireTopScoreWebhooksIfEligible(eq(SLUG), candidates.capture());
+        assertThat(candidates.getValue()).extracting(WebhookService.TopScoreCandidate::score).containsExactly(10.0, 30.0);
+    }
+
+    private void board(ScoreStrategy strategy, SortOrder sortOrder) {
+        when(leaderboardConfigCache.get(SLUG))
+                .thenReturn(new LeaderboardConfig(1L, SLUG, sortOrder, strategy, 0.0, 100.0, 0L));
+    }
+
+    private List<ScoreBatchEntryResponse> submit(ScoreSubmissionRequest... submissions) {
+        return scoreService.submitScores(SLUG, List.of(submissions)).results();
+    }
+
+    private static ScoreSubmissionRequest request(String alias, double score) {
+        return new ScoreSubmissionRequest(alias, score, null);
+    }
+}
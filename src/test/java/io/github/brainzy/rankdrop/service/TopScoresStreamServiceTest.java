@@ -0,0 +1,56 @@
+package io.github.brainzy.rankdrop.service;
+
+import io.github.brainzy.rankdrop.dto.ScoreEntryResponse;
+import io.github.brainzy.rankdrop.dto.TopScoreChange;
+import io.github.brainzy.rankdrop.dto.TopScoresDiffEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopScoresStreamServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void reportsEnteredMovedAndLeftWithinTheLimit() {
+        List<ScoreEntryResponse> before = List.of(entry(1L, "a", 30, 1), entry(2L, "b", 20, 2), entry(3L, "c", 10, 3));
+        List<ScoreEntryResponse> after = List.of(entry(4L, "d", 40, 1), entry(1L, "a", 30, 2), entry(2L, "b", 20, 3));
+
+        TopScoresDiffEvent diff = TopScoresStreamService.diff(before, after, 3);
+
+        assertThat(diff.entered()).containsExactly(new TopScoreChange("d", 40, 1L, null));
+        assertThat(diff.moved()).containsExactly(
+                new TopScoreChange("a", 30, 2L, 1L),
+                new TopScoreChange("b", 20, 3L, 2L));
+        assertThat(diff.left()).containsExactly(new TopScoreChange("c", 10, null, 3L));
+    }
+
+    @Test
+    void ignoresChangesBelowTheLimit() {
+        List<ScoreEntryResponse> before = List.of(entry(1L, "a", 30, 1), entry(2L, "b", 20, 2));
+        List<ScoreEntryResponse> after = List.of(entry(1L, "a", 30, 1), entry(3L, "c", 25, 2), entry(2L, "b", 20, 3));
+
+        TopScoresDiffEvent diff = TopScoresStreamService.diff(before, after, 1);
+
+        assertThat(diff.entered()).isEmpty();
+        assertThat(diff.moved()).isEmpty();
+        assertThat(diff.left()).isEmpty();
+    }
+
+    @Test
+    void scoreChangeInPlaceCountsAsMoved() {
+        List<ScoreEntryResponse> before = List.of(entry(1L, "a", 30, 1));
+        List<ScoreEntryResponse> after = List.of(entry(1L, "a", 35, 1));
+
+        TopScoresDiffEvent diff = TopScoresStreamService.diff(before, after, 10);
+
+        assertThat(diff.moved()).containsExactly(new TopScoreChange("a", 35, 1L, 1L));
+    }
+
+    private static ScoreEntryResponse entry(Long id, String alias, double score, long rank) {
+        return new ScoreEntryResponse(id, alias, score, rank, BASE.plusSeconds(id), null);
+    }
+}